@@ -0,0 +1,207 @@
+package com.booking.bookingutils.http;
+
+import com.booking.bookingutils.storage.ObjectMetadata;
+import com.booking.bookingutils.storage.ObjectStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Streams stored images straight from an {@link ObjectStore} with validators and byte-range support.
+ * Unchanged images are answered with 304, and content is never collected into a single array.
+ */
+@Slf4j
+public class ImageResponder {
+
+    private static final int SNIFF_LENGTH = 12;
+
+    private final ObjectStore objectStore;
+    private final CacheControl cacheControl;
+
+    public ImageResponder(ObjectStore objectStore, CacheControl cacheControl) {
+        this.objectStore = objectStore;
+        this.cacheControl = cacheControl;
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> serve(String key, ServerHttpRequest request) {
+        return serve(key, request, cacheControl);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> serve(String key, ServerHttpRequest request,
+                                                        CacheControl cacheControl) {
+        return objectStore.stat(key)
+                .flatMap(metadata -> detectContentType(metadata)
+                        .map(contentType -> respond(metadata, contentType, request.getHeaders(), cacheControl)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> respond(ObjectMetadata metadata, MediaType contentType,
+                                                     HttpHeaders requestHeaders, CacheControl cacheControl) {
+        String etag = quote(metadata.getEtag());
+        Instant lastModified = metadata.getLastModified();
+
+        if (notModified(requestHeaders, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(headers -> validators(headers, etag, lastModified, cacheControl))
+                    .build();
+        }
+
+        List<HttpRange> ranges = rangesToServe(requestHeaders, etag, lastModified);
+        long size = metadata.getSize();
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            if (size == 0 || start >= size) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            long length = end - start + 1;
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers -> validators(headers, etag, lastModified, cacheControl))
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+                    .contentType(contentType)
+                    .contentLength(length)
+                    .body(objectStore.read(metadata.getKey(), start, length));
+        }
+
+        return ResponseEntity.ok()
+                .headers(headers -> validators(headers, etag, lastModified, cacheControl))
+                .contentType(contentType)
+                .contentLength(size)
+                .body(objectStore.read(metadata.getKey()));
+    }
+
+    private void validators(HttpHeaders headers, String etag, Instant lastModified, CacheControl cacheControl) {
+        headers.setCacheControl(cacheControl);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+    }
+
+    private boolean notModified(HttpHeaders requestHeaders, String etag, Instant lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return etag != null && ifNoneMatch.stream()
+                    .anyMatch(candidate -> candidate.equals("*") || weakMatch(candidate, etag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified != null
+                && lastModified.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() <= ifModifiedSince;
+    }
+
+    private List<HttpRange> rangesToServe(HttpHeaders requestHeaders, String etag, Instant lastModified) {
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header: {}", e.getMessage());
+            return List.of();
+        }
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ranges.isEmpty() || ifRange == null) {
+            return ranges;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag) ? ranges : List.of();
+        }
+        long ifRangeDate = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+        return lastModified != null && lastModified.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() == ifRangeDate
+                ? ranges
+                : List.of();
+    }
+
+    private Mono<MediaType> detectContentType(ObjectMetadata metadata) {
+        MediaType stored = parse(metadata.getContentType());
+        if (isImage(stored)) {
+            return Mono.just(stored);
+        }
+        MediaType byName = MediaTypeFactory.getMediaType(metadata.getKey()).orElse(null);
+        if (isImage(byName)) {
+            return Mono.just(byName);
+        }
+        return DataBufferUtils.join(objectStore.read(metadata.getKey(), 0, Math.min(SNIFF_LENGTH, metadata.getSize())))
+                .map(buffer -> {
+                    byte[] header = new byte[buffer.readableByteCount()];
+                    buffer.read(header);
+                    DataBufferUtils.release(buffer);
+                    return sniff(header);
+                })
+                .defaultIfEmpty(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private static MediaType sniff(byte[] header) {
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(header, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (header.length >= 12 && startsWith(header, 'R', 'I', 'F', 'F')
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean startsWith(byte[] header, int... signature) {
+        if (header.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MediaType parse(String contentType) {
+        try {
+            return contentType == null ? null : MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isImage(MediaType mediaType) {
+        return mediaType != null && "image".equals(mediaType.getType());
+    }
+
+    private static boolean weakMatch(String candidate, String etag) {
+        return strip(candidate).equals(strip(etag));
+    }
+
+    private static String strip(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String quote(String etag) {
+        if (etag == null || etag.isEmpty()) {
+            return null;
+        }
+        return etag.startsWith("\"") || etag.startsWith("W/") ? etag : "\"" + etag + "\"";
+    }
+}
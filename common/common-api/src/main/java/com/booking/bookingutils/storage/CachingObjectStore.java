@@ -0,0 +1,315 @@
+package com.booking.bookingutils.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of another object store. Small objects are kept on heap in a W-TinyLFU
+ * bounded Caffeine cache; everything up to the disk object limit is kept as memory-mapped files with
+ * LRU eviction under a byte budget. Concurrent misses for the same key share a single fill.
+ * <p>
+ * Writes and deletes bump a generation for the key before dropping it from both tiers, and a fill only
+ * stores what it read when the generation is still the one it started with. A fill that raced with an
+ * overwrite is discarded and its readers fall through to the delegate. Generations are striped by key
+ * hash, so an unrelated invalidation can at worst discard a fill.
+ */
+@Slf4j
+public class CachingObjectStore implements ObjectStore {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ObjectStore delegate;
+    private final Settings settings;
+    private final Cache<String, MemoryEntry> memory;
+    private final DiskTier disk;
+    private final Map<String, Mono<Boolean>> fills = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    public CachingObjectStore(ObjectStore delegate, Settings settings, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(settings.getMemoryBudgetBytes())
+                .weigher((String key, MemoryEntry entry) -> entry.getContent().length)
+                .recordStats()
+                .build();
+        this.disk = new DiskTier(settings.getDiskDirectory(), settings.getDiskBudgetBytes(),
+                settings.getName(), meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, settings.getName() + "-memory");
+    }
+
+    @Override
+    public Mono<ObjectMetadata> write(String key, String contentType, Flux<DataBuffer> content) {
+        return delegate.write(key, contentType, content)
+                .doFinally(signal -> invalidate(key));
+    }
+
+    @Override
+    public Mono<ObjectMetadata> stat(String key) {
+        MemoryEntry inMemory = memory.asMap().get(key);
+        if (inMemory != null) {
+            return Mono.just(inMemory.getMetadata());
+        }
+        DiskEntry onDisk = disk.get(key, false);
+        if (onDisk != null) {
+            return Mono.just(onDisk.getMetadata());
+        }
+        return delegate.stat(key);
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String key, long offset, long length) {
+        return Flux.defer(() -> {
+            Flux<DataBuffer> cached = readCached(key, offset, length);
+            if (cached != null) {
+                return cached;
+            }
+            return fill(key).flatMapMany(filled -> {
+                Flux<DataBuffer> afterFill = filled ? readCached(key, offset, length) : null;
+                return afterFill != null ? afterFill : delegate.read(key, offset, length);
+            });
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return delegate.delete(key)
+                .doFinally(signal -> invalidate(key));
+    }
+
+    private Flux<DataBuffer> readCached(String key, long offset, long length) {
+        MemoryEntry inMemory = memory.getIfPresent(key);
+        if (inMemory != null) {
+            return Flux.just(slice(ByteBuffer.wrap(inMemory.getContent()), offset, length));
+        }
+        DiskEntry onDisk = disk.get(key, true);
+        if (onDisk != null) {
+            return Flux.just(slice(onDisk.getContent(), offset, length));
+        }
+        return null;
+    }
+
+    private DataBuffer slice(ByteBuffer content, long offset, long length) {
+        ByteBuffer view = content.duplicate();
+        int start = (int) Math.min(offset, view.limit());
+        int end = length == WHOLE_OBJECT ? view.limit() : (int) Math.min(view.limit(), start + length);
+        view.position(start).limit(end);
+        return bufferFactory.wrap(view.slice());
+    }
+
+    private Mono<Boolean> fill(String key) {
+        return fills.computeIfAbsent(key, missing -> {
+            long started = generation(key);
+            return delegate.stat(key)
+                    .filter(metadata -> metadata.getSize() <= settings.getDiskMaxObjectBytes())
+                    .flatMap(metadata -> disk.fill(key, metadata, delegate.read(key), started))
+                    .doOnNext(entry -> {
+                        if (entry.getMetadata().getSize() <= settings.getMemoryMaxObjectBytes()) {
+                            byte[] content = new byte[(int) entry.getMetadata().getSize()];
+                            entry.getContent().duplicate().get(content);
+                            MemoryEntry filled = new MemoryEntry(entry.getMetadata(), content);
+                            memory.asMap().compute(key, (k, existing) -> isCurrent(key, started) ? filled : existing);
+                        }
+                    })
+                    .map(entry -> true)
+                    .defaultIfEmpty(false)
+                    .onErrorResume(error -> {
+                        log.warn("Failed to cache object '{}': {}", key, error.getMessage());
+                        return Mono.just(false);
+                    })
+                    .doFinally(signal -> fills.remove(key))
+                    .cache();
+        });
+    }
+
+    private void invalidate(String key) {
+        generations.incrementAndGet(stripe(key));
+        memory.invalidate(key);
+        disk.remove(key);
+    }
+
+    private long generation(String key) {
+        return generations.get(stripe(key));
+    }
+
+    private boolean isCurrent(String key, long started) {
+        return generation(key) == started;
+    }
+
+    private static int stripe(String key) {
+        return key.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class Settings {
+        private String name = "objects";
+        private Path diskDirectory;
+        private long memoryBudgetBytes = 64L * 1024 * 1024;
+        private long memoryMaxObjectBytes = 256L * 1024;
+        private long diskBudgetBytes = 2L * 1024 * 1024 * 1024;
+        private long diskMaxObjectBytes = 16L * 1024 * 1024;
+    }
+
+    @Data
+    private static class MemoryEntry {
+        private final ObjectMetadata metadata;
+        private final byte[] content;
+    }
+
+    @Data
+    private static class DiskEntry {
+        private final ObjectMetadata metadata;
+        private final Path file;
+        private final MappedByteBuffer content;
+    }
+
+    private final class DiskTier {
+
+        private final Path directory;
+        private final long budgetBytes;
+        private final LinkedHashMap<String, DiskEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private long usedBytes;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter evictions;
+
+        private DiskTier(Path directory, long budgetBytes, String name, MeterRegistry meterRegistry) {
+            this.directory = directory;
+            this.budgetBytes = budgetBytes;
+            String cacheName = name + "-disk";
+            this.hits = Counter.builder("cache.gets").tag("cache", cacheName).tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("cache.gets").tag("cache", cacheName).tag("result", "miss")
+                    .register(meterRegistry);
+            this.evictions = Counter.builder("cache.evictions").tag("cache", cacheName)
+                    .register(meterRegistry);
+            Gauge.builder("cache.size.bytes", this, tier -> tier.usedBytes())
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            prepareDirectory();
+        }
+
+        private synchronized DiskEntry get(String key, boolean record) {
+            DiskEntry entry = entries.get(key);
+            if (record) {
+                (entry == null ? misses : hits).increment();
+            }
+            return entry;
+        }
+
+        private synchronized long usedBytes() {
+            return usedBytes;
+        }
+
+        private Mono<DiskEntry> fill(String key, ObjectMetadata metadata, Flux<DataBuffer> content, long started) {
+            Path file = directory.resolve(UUID.randomUUID().toString());
+            return DataBufferUtils.write(content, file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                    .then(Mono.fromCallable(() -> {
+                        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                            return put(key, new DiskEntry(metadata.setSize(channel.size()), file, mapped), started);
+                        }
+                    }).subscribeOn(scheduler))
+                    .doOnError(error -> deleteQuietly(file));
+        }
+
+        private DiskEntry put(String key, DiskEntry entry, long started) {
+            List<DiskEntry> evicted = new ArrayList<>();
+            boolean current;
+            synchronized (this) {
+                current = isCurrent(key, started);
+                if (current) {
+                    DiskEntry previous = entries.put(key, entry);
+                    if (previous != null) {
+                        usedBytes -= previous.getMetadata().getSize();
+                        evicted.add(previous);
+                    }
+                    usedBytes += entry.getMetadata().getSize();
+                    Iterator<Map.Entry<String, DiskEntry>> eldest = entries.entrySet().iterator();
+                    while (usedBytes > budgetBytes && eldest.hasNext()) {
+                        DiskEntry candidate = eldest.next().getValue();
+                        if (candidate == entry) {
+                            continue;
+                        }
+                        eldest.remove();
+                        usedBytes -= candidate.getMetadata().getSize();
+                        evicted.add(candidate);
+                        evictions.increment();
+                    }
+                } else {
+                    evicted.add(entry);
+                }
+            }
+            evicted.forEach(old -> deleteQuietly(old.getFile()));
+            return current ? entry : null;
+        }
+
+        private void remove(String key) {
+            DiskEntry removed;
+            synchronized (this) {
+                removed = entries.remove(key);
+                if (removed != null) {
+                    usedBytes -= removed.getMetadata().getSize();
+                }
+            }
+            if (removed != null) {
+                deleteQuietly(removed.getFile());
+            }
+        }
+
+        private void prepareDirectory() {
+            try {
+                Files.createDirectories(directory);
+                try (Stream<Path> stale = Files.list(directory)) {
+                    stale.forEach(CachingObjectStore.this::deleteQuietly);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to prepare object cache directory " + directory, e);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached object file {}: {}", file, e.getMessage());
+        }
+    }
+}
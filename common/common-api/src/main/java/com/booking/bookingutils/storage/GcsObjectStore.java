@@ -0,0 +1,101 @@
+package com.booking.bookingutils.storage;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+
+/**
+ * Google Cloud Storage backed object store. Writes go through a resumable upload session that is fed
+ * chunk by chunk; the blocking client calls run on a bounded elastic scheduler.
+ */
+@Slf4j
+public class GcsObjectStore implements ObjectStore {
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    private final Storage storage;
+    private final String bucketName;
+    private final Scheduler scheduler;
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    public GcsObjectStore(Storage storage, String bucketName) {
+        this(storage, bucketName, Schedulers.boundedElastic());
+    }
+
+    public GcsObjectStore(Storage storage, String bucketName, Scheduler scheduler) {
+        this.storage = storage;
+        this.bucketName = bucketName;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<ObjectMetadata> write(String key, String contentType, Flux<DataBuffer> content) {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                .setContentType(contentType)
+                .build();
+        return Mono.fromCallable(() -> {
+                    WriteChannel writer = storage.writer(blobInfo);
+                    writer.setChunkSize(CHUNK_SIZE);
+                    return writer;
+                })
+                .subscribeOn(scheduler)
+                .flatMap(writer -> DataBufferUtils.write(content.publishOn(scheduler), writer)
+                        .map(DataBufferUtils::release)
+                        .then(Mono.fromCallable(() -> {
+                            writer.close();
+                            return key;
+                        }).subscribeOn(scheduler)))
+                .flatMap(this::stat)
+                .doOnNext(metadata -> log.debug("Uploaded object '{}' ({} bytes)", key, metadata.getSize()));
+    }
+
+    @Override
+    public Mono<ObjectMetadata> stat(String key) {
+        return Mono.fromCallable(() -> storage.get(BlobId.of(bucketName, key)))
+                .subscribeOn(scheduler)
+                .map(this::toMetadata);
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String key, long offset, long length) {
+        Flux<DataBuffer> content = DataBufferUtils.readByteChannel(() -> {
+            ReadChannel reader = storage.reader(BlobId.of(bucketName, key));
+            reader.setChunkSize(CHUNK_SIZE);
+            if (offset > 0) {
+                reader.seek(offset);
+            }
+            return reader;
+        }, bufferFactory, CHUNK_SIZE).subscribeOn(scheduler);
+        return length == WHOLE_OBJECT ? content : DataBufferUtils.takeUntilByteCount(content, length);
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromCallable(() -> storage.delete(BlobId.of(bucketName, key)))
+                .subscribeOn(scheduler)
+                .then();
+    }
+
+    private ObjectMetadata toMetadata(Blob blob) {
+        return new ObjectMetadata()
+                .setKey(blob.getName())
+                .setSize(blob.getSize() == null ? 0 : blob.getSize())
+                .setContentType(blob.getContentType())
+                .setEtag(blob.getEtag())
+                .setLastModified(blob.getUpdateTime() == null ? null : Instant.ofEpochMilli(blob.getUpdateTime()));
+    }
+}
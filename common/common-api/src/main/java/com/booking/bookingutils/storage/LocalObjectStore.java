@@ -0,0 +1,111 @@
+package com.booking.bookingutils.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+
+/**
+ * Object store on the local filesystem, meant for development and tests. Objects are written to a
+ * temporary file first and moved into place, so readers never observe partial content.
+ */
+@Slf4j
+public class LocalObjectStore implements ObjectStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    public LocalObjectStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public LocalObjectStore(String root) {
+        this(Paths.get(root));
+    }
+
+    @Override
+    public Mono<ObjectMetadata> write(String key, String contentType, Flux<DataBuffer> content) {
+        Path target = resolve(key);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(target.getParent());
+                    return target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                })
+                .subscribeOn(scheduler)
+                .flatMap(temporary -> DataBufferUtils.write(content, temporary,
+                                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                        .then(Mono.fromCallable(() -> Files.move(temporary, target,
+                                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE))
+                                .subscribeOn(scheduler))
+                        .onErrorResume(error -> Mono.fromRunnable(() -> deleteQuietly(temporary))
+                                .then(Mono.error(error))))
+                .then(stat(key));
+    }
+
+    @Override
+    public Mono<ObjectMetadata> stat(String key) {
+        return Mono.fromCallable(() -> {
+                    Path path = resolve(key);
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    return new ObjectMetadata()
+                            .setKey(key)
+                            .setSize(attributes.size())
+                            .setContentType(URLConnection.guessContentTypeFromName(path.getFileName().toString()))
+                            .setEtag(Long.toHexString(attributes.size()) + "-"
+                                    + Long.toHexString(attributes.lastModifiedTime().toMillis()))
+                            .setLastModified(attributes.lastModifiedTime().toInstant());
+                })
+                .subscribeOn(scheduler)
+                .onErrorResume(NoSuchFileException.class, error -> Mono.empty());
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String key, long offset, long length) {
+        Path path = resolve(key);
+        Flux<DataBuffer> content = DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ), offset, bufferFactory, BUFFER_SIZE);
+        return length == WHOLE_OBJECT ? content : DataBufferUtils.takeUntilByteCount(content, length);
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromCallable(() -> Files.deleteIfExists(resolve(key)))
+                .subscribeOn(scheduler)
+                .then();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Object key escapes the store root: " + key);
+        }
+        return path;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary object file {}: {}", path, e.getMessage());
+        }
+    }
+}
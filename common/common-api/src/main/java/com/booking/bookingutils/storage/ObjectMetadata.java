@@ -0,0 +1,25 @@
+package com.booking.bookingutils.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class ObjectMetadata {
+
+    private String key;
+
+    private long size;
+
+    private String contentType;
+
+    private String etag;
+
+    private Instant lastModified;
+}
@@ -0,0 +1,40 @@
+package com.booking.bookingutils.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to a flat key/value object store. Content is always streamed as data buffers,
+ * never materialized as a single byte array.
+ */
+public interface ObjectStore {
+
+    long WHOLE_OBJECT = -1;
+
+    /**
+     * Streams {@code content} into {@code key}, replacing any existing object once the write completes.
+     */
+    Mono<ObjectMetadata> write(String key, String contentType, Flux<DataBuffer> content);
+
+    /**
+     * Emits the object's metadata, or completes empty when no such object exists.
+     */
+    Mono<ObjectMetadata> stat(String key);
+
+    /**
+     * Streams {@code length} bytes starting at {@code offset}, or the rest of the object when
+     * {@code length} is {@link #WHOLE_OBJECT}.
+     */
+    Flux<DataBuffer> read(String key, long offset, long length);
+
+    Mono<Void> delete(String key);
+
+    default Flux<DataBuffer> read(String key) {
+        return read(key, 0, WHOLE_OBJECT);
+    }
+
+    default Mono<Boolean> exists(String key) {
+        return stat(key).hasElement();
+    }
+}
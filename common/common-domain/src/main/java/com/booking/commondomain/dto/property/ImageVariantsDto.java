@@ -0,0 +1,31 @@
+package com.booking.commondomain.dto.property;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.validation.constraints.NotEmpty;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImageVariantsDto {
+
+    @NotEmpty
+    private String original;
+
+    @NotEmpty
+    private String thumbnail;
+
+    @NotEmpty
+    private String card;
+
+    @NotEmpty
+    private String full;
+}
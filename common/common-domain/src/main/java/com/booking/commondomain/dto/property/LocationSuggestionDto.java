@@ -0,0 +1,37 @@
+package com.booking.commondomain.dto.property;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LocationSuggestionDto {
+
+    @NotEmpty
+    private String name;
+
+    @NotNull
+    private Type type;
+
+    @NotEmpty
+    private String country;
+
+    @NotNull
+    private Long propertyCount;
+
+    public enum Type {
+        COUNTRY,
+        CITY
+    }
+}
@@ -62,6 +62,8 @@ public class PropertyAggregate {
     @NotEmpty
     private Set<String> images;
 
+    private Set<ImageVariantsDto> imageVariants;
+
     @Valid
     private Set<AmenityDto> amenities;
 
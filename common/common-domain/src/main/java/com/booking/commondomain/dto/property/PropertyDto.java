@@ -55,6 +55,8 @@ public class PropertyDto {
     @NotEmpty
     private String image;
 
+    private ImageVariantsDto imageVariants;
+
     @NotEmpty
     private Set<String> amenities;
 }
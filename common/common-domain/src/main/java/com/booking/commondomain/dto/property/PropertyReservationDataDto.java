@@ -17,6 +17,8 @@ import javax.validation.constraints.NotNull;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PropertyReservationDataDto {
 
+    private Long id;
+
     @NotEmpty
     private String title;
 
@@ -0,0 +1,35 @@
+package com.booking.commondomain.dto.property;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReferenceDataDto {
+
+    @NotNull
+    private String version;
+
+    @NotNull
+    private List<CountryDto> countries;
+
+    @NotNull
+    private List<PropertyTypeDto> propertyTypes;
+
+    @NotNull
+    private List<GuestSpaceDto> guestSpaces;
+
+    @NotNull
+    private List<AmenityDto> amenities;
+}
@@ -20,6 +20,8 @@ import java.util.UUID;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ReservationDto {
 
+    private String id;
+
     @NotNull
     private LocalDate checkIn;
 
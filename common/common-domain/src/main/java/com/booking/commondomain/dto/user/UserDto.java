@@ -17,6 +17,8 @@ import javax.validation.constraints.NotEmpty;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class UserDto {
 
+    private String id;
+
     @NotEmpty
     private String firstName;
 
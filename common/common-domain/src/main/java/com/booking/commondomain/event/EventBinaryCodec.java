@@ -0,0 +1,352 @@
+package com.booking.commondomain.event;
+
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact, versioned binary encoding of {@link Event}. Ids and dates are zigzag varints, the creation time
+ * is written as epoch microseconds in UTC and {@link ReservationDto} payloads have their own field layout.
+ * Any other payload is embedded as JSON together with its class name.
+ *
+ * <pre>
+ * byte    version
+ * byte    event type ordinal + 1, 0 when absent
+ * byte    1 when the creation time is present, followed by a zigzag varint of epoch micros
+ * value   key
+ * value   data
+ * </pre>
+ */
+public class EventBinaryCodec {
+
+    public static final String MIME_TYPE = "application/x-booking-event";
+
+    private static final byte VERSION = 1;
+    private static final String JSON_PACKAGE_PREFIX = "com.booking.";
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte STRING = 2;
+    private static final byte RESERVATION = 3;
+    private static final byte JSON = 4;
+
+    private static final int RESERVATION_ID = 1;
+    private static final int RESERVATION_CHECK_IN = 1 << 1;
+    private static final int RESERVATION_CHECK_OUT = 1 << 2;
+    private static final int RESERVATION_PROPERTY_ID = 1 << 3;
+    private static final int RESERVATION_LOCATION = 1 << 4;
+    private static final int RESERVATION_PRICE = 1 << 5;
+    private static final int RESERVATION_USER_ID = 1 << 6;
+    private static final int RESERVATION_OWNER_ID = 1 << 7;
+
+    private static final Event.Type[] TYPES = Event.Type.values();
+
+    private final ObjectMapper objectMapper;
+
+    public EventBinaryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(Event<?, ?> event) {
+        Writer writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeByte(event.getEventType() == null ? 0 : event.getEventType().ordinal() + 1);
+        LocalDateTime createdAt = event.getEventCreatedAt();
+        if (createdAt == null) {
+            writer.writeByte(0);
+        } else {
+            writer.writeByte(1);
+            writer.writeSignedVarint(toEpochMicros(createdAt));
+        }
+        writeValue(writer, event.getKey());
+        writeValue(writer, event.getData());
+        return writer.toByteArray();
+    }
+
+    public Event<Object, Object> decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported event encoding version: " + version);
+        }
+        int type = reader.readByte();
+        if (type > TYPES.length) {
+            throw new IllegalArgumentException("Unknown event type: " + type);
+        }
+        Event.Type eventType = type == 0 ? null : TYPES[type - 1];
+        LocalDateTime createdAt = reader.readByte() == 0 ? null : fromEpochMicros(reader.readSignedVarint());
+        Object key = readValue(reader);
+        Object data = readValue(reader);
+        return new Event<>(eventType, key, data, createdAt);
+    }
+
+    private void writeValue(Writer writer, Object value) {
+        if (value == null) {
+            writer.writeByte(NULL);
+        } else if (value instanceof Long) {
+            writer.writeByte(LONG);
+            writer.writeSignedVarint((Long) value);
+        } else if (value instanceof String) {
+            writer.writeByte(STRING);
+            writer.writeString((String) value);
+        } else if (value instanceof ReservationDto) {
+            writer.writeByte(RESERVATION);
+            writeReservation(writer, (ReservationDto) value);
+        } else {
+            writer.writeByte(JSON);
+            writer.writeString(value.getClass().getName());
+            try {
+                writer.writeBytes(objectMapper.writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private Object readValue(Reader reader) {
+        int tag = reader.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case LONG:
+                return reader.readSignedVarint();
+            case STRING:
+                return reader.readString();
+            case RESERVATION:
+                return readReservation(reader);
+            case JSON:
+                return readJson(reader.readString(), reader.readBytes());
+            default:
+                throw new IllegalArgumentException("Unknown event value tag: " + tag);
+        }
+    }
+
+    private Object readJson(String className, byte[] json) {
+        if (!className.startsWith(JSON_PACKAGE_PREFIX)) {
+            throw new IllegalArgumentException("Refusing to decode event value of type: " + className);
+        }
+        try {
+            return objectMapper.readValue(json, Class.forName(className));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown event value type: " + className, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeReservation(Writer writer, ReservationDto reservation) {
+        int fields = (reservation.getId() != null ? RESERVATION_ID : 0)
+                | (reservation.getCheckIn() != null ? RESERVATION_CHECK_IN : 0)
+                | (reservation.getCheckOut() != null ? RESERVATION_CHECK_OUT : 0)
+                | (reservation.getPropertyId() != null ? RESERVATION_PROPERTY_ID : 0)
+                | (reservation.getLocation() != null ? RESERVATION_LOCATION : 0)
+                | (reservation.getPrice() != null ? RESERVATION_PRICE : 0)
+                | (reservation.getUserId() != null ? RESERVATION_USER_ID : 0)
+                | (reservation.getOwnerId() != null ? RESERVATION_OWNER_ID : 0);
+        writer.writeVarint(fields);
+        if ((fields & RESERVATION_ID) != 0) {
+            writer.writeString(reservation.getId());
+        }
+        if ((fields & RESERVATION_CHECK_IN) != 0) {
+            writer.writeSignedVarint(reservation.getCheckIn().toEpochDay());
+        }
+        if ((fields & RESERVATION_CHECK_OUT) != 0) {
+            writer.writeSignedVarint(reservation.getCheckOut().toEpochDay());
+        }
+        if ((fields & RESERVATION_PROPERTY_ID) != 0) {
+            writer.writeSignedVarint(reservation.getPropertyId());
+        }
+        if ((fields & RESERVATION_LOCATION) != 0) {
+            writer.writeString(reservation.getLocation());
+        }
+        if ((fields & RESERVATION_PRICE) != 0) {
+            writer.writeSignedVarint(reservation.getPrice().scale());
+            writer.writeBytes(reservation.getPrice().unscaledValue().toByteArray());
+        }
+        if ((fields & RESERVATION_USER_ID) != 0) {
+            writer.writeUuid(reservation.getUserId());
+        }
+        if ((fields & RESERVATION_OWNER_ID) != 0) {
+            writer.writeUuid(reservation.getOwnerId());
+        }
+    }
+
+    private ReservationDto readReservation(Reader reader) {
+        int fields = (int) reader.readVarint();
+        ReservationDto reservation = new ReservationDto();
+        if ((fields & RESERVATION_ID) != 0) {
+            reservation.setId(reader.readString());
+        }
+        if ((fields & RESERVATION_CHECK_IN) != 0) {
+            reservation.setCheckIn(LocalDate.ofEpochDay(reader.readSignedVarint()));
+        }
+        if ((fields & RESERVATION_CHECK_OUT) != 0) {
+            reservation.setCheckOut(LocalDate.ofEpochDay(reader.readSignedVarint()));
+        }
+        if ((fields & RESERVATION_PROPERTY_ID) != 0) {
+            reservation.setPropertyId(reader.readSignedVarint());
+        }
+        if ((fields & RESERVATION_LOCATION) != 0) {
+            reservation.setLocation(reader.readString());
+        }
+        if ((fields & RESERVATION_PRICE) != 0) {
+            int scale = Math.toIntExact(reader.readSignedVarint());
+            reservation.setPrice(new BigDecimal(new BigInteger(reader.readBytes()), scale));
+        }
+        if ((fields & RESERVATION_USER_ID) != 0) {
+            reservation.setUserId(reader.readUuid());
+        }
+        if ((fields & RESERVATION_OWNER_ID) != 0) {
+            reservation.setOwnerId(reader.readUuid());
+        }
+        return reservation;
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                dateTime.getNano() / 1_000);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[64];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeUuid(UUID value) {
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in event payload");
+        }
+
+        private long readSignedVarint() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private byte[] readBytes() {
+            int length = readLength();
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private String readString() {
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int readLength() {
+            long length = readVarint();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated event payload");
+            }
+            return (int) length;
+        }
+
+        private UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        private long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private void require(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Truncated event payload");
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.commondomain.event;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Message converter for {@link EventBinaryCodec#MIME_TYPE}. It only takes part when that content type is
+ * negotiated, so producers and consumers of {@code application/json} events keep working unchanged.
+ */
+public class EventMessageConverter extends AbstractMessageConverter {
+
+    private final EventBinaryCodec codec;
+
+    public EventMessageConverter(EventBinaryCodec codec) {
+        super(MimeType.valueOf(EventBinaryCodec.MIME_TYPE));
+        this.codec = codec;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Event.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return message.getPayload() instanceof byte[] && super.canConvertFrom(message, targetClass);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return codec.decode((byte[]) message.getPayload());
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return codec.encode((Event<?, ?>) payload);
+    }
+}
@@ -0,0 +1,172 @@
+package com.booking.commondomain.event;
+
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.commondomain.dto.user.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventBinaryCodecTest {
+
+    private final EventBinaryCodec codec = new EventBinaryCodec(new ObjectMapper());
+
+    @Test
+    void roundTripsReservationEvent() {
+        ReservationDto reservation = new ReservationDto()
+                .setId("6123456789abcdef01234567")
+                .setCheckIn(LocalDate.of(2024, 7, 1))
+                .setCheckOut(LocalDate.of(2024, 7, 8))
+                .setPropertyId(42L)
+                .setLocation("Chania")
+                .setPrice(new BigDecimal("1234.50"))
+                .setUserId(UUID.randomUUID())
+                .setOwnerId(UUID.randomUUID());
+        Event<String, ReservationDto> event = new Event<>(Event.Type.CREATE, reservation.getId(), reservation,
+                LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_456_000));
+
+        Event<Object, Object> decoded = codec.decode(codec.encode(event));
+
+        assertThat(decoded.getEventType()).isEqualTo(Event.Type.CREATE);
+        assertThat(decoded.getKey()).isEqualTo(reservation.getId());
+        assertThat(decoded.getEventCreatedAt()).isEqualTo(event.getEventCreatedAt());
+        assertThat(decoded.getData()).usingRecursiveComparison().isEqualTo(reservation);
+    }
+
+    @Test
+    void roundTripsReservationWithMissingFields() {
+        ReservationDto reservation = new ReservationDto().setPropertyId(-7L).setLocation("Ηράκλειο");
+        Event<String, ReservationDto> event = new Event<>(Event.Type.DELETE, null, reservation, null);
+
+        Event<Object, Object> decoded = codec.decode(codec.encode(event));
+
+        assertThat(decoded.getKey()).isNull();
+        assertThat(decoded.getEventCreatedAt()).isNull();
+        assertThat(decoded.getData()).usingRecursiveComparison().isEqualTo(reservation);
+    }
+
+    @Test
+    void roundTripsPropertyDeletionEvent() {
+        Event<Long, Long> event = new Event<>(Event.Type.DELETE, Long.MIN_VALUE, Long.MAX_VALUE,
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000));
+
+        Event<Object, Object> decoded = codec.decode(codec.encode(event));
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void truncatesCreationTimeToMicros() {
+        Event<Long, Long> event = new Event<>(null, 1L, 2L, LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_789));
+
+        Event<Object, Object> decoded = codec.decode(codec.encode(event));
+
+        assertThat(decoded.getEventType()).isNull();
+        assertThat(decoded.getEventCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000));
+    }
+
+    @Test
+    void embedsOtherPayloadsAsJson() {
+        UserDto user = new UserDto().setId("u-1").setFirstName("Nick").setEmail("nick@example.com");
+        Event<String, UserDto> event = new Event<>(Event.Type.UPDATE, user.getId(), user);
+
+        Event<Object, Object> decoded = codec.decode(codec.encode(event));
+
+        assertThat(decoded.getData()).isEqualTo(user);
+    }
+
+    @Test
+    void rejectsEmptyPayload() {
+        assertThatThrownBy(() -> codec.decode(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+        byte[] bytes = encodedDeletion();
+        bytes[0] = 2;
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsUnknownEventType() {
+        byte[] bytes = encodedDeletion();
+        bytes[1] = (byte) (Event.Type.values().length + 1);
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("event type");
+    }
+
+    @Test
+    void rejectsUnknownValueTag() {
+        byte[] bytes = {1, 2, 0, 9};
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tag");
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        ReservationDto reservation = new ReservationDto()
+                .setId("r-1")
+                .setCheckIn(LocalDate.of(2024, 7, 1))
+                .setPrice(BigDecimal.TEN)
+                .setUserId(UUID.randomUUID());
+        byte[] bytes = codec.encode(new Event<>(Event.Type.CREATE, "r-1", reservation));
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThatThrownBy(() -> codec.decode(truncated))
+                    .as("payload truncated to %d bytes", length)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsLengthBeyondPayload() {
+        byte[] bytes = {1, 2, 0, 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsOverlongVarint() {
+        byte[] bytes = new byte[16];
+        bytes[0] = 1;
+        bytes[3] = 1;
+        Arrays.fill(bytes, 4, bytes.length, (byte) 0x80);
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("varint");
+    }
+
+    @Test
+    void refusesJsonTypesOutsideTheBookingPackages() {
+        Event<String, Object> event = new Event<>(Event.Type.UPDATE, "k", new ArrayList<>());
+
+        assertThatThrownBy(() -> codec.decode(codec.encode(event)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("java.util.ArrayList");
+    }
+
+    private byte[] encodedDeletion() {
+        return codec.encode(new Event<>(Event.Type.DELETE, 1L, 1L));
+    }
+}
@@ -0,0 +1,40 @@
+package com.booking.commondomain.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventMessageConverterTest {
+
+    private final EventMessageConverter converter = new EventMessageConverter(new EventBinaryCodec(new ObjectMapper()));
+
+    @Test
+    void convertsBinaryEvents() {
+        Event<Long, Long> event = new Event<>(Event.Type.DELETE, 1L, 42L, LocalDateTime.of(2024, 6, 1, 12, 0));
+        MessageHeaders headers = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, EventBinaryCodec.MIME_TYPE));
+
+        Message<?> message = converter.toMessage(event, headers);
+
+        assertThat(message.getPayload()).isInstanceOf(byte[].class);
+        assertThat(converter.fromMessage(message, Event.class)).isEqualTo(event);
+    }
+
+    @Test
+    void leavesJsonMessagesToOtherConverters() {
+        Message<byte[]> message = MessageBuilder.withPayload("{\"key\":1}".getBytes())
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeType.valueOf("application/json"))
+                .build();
+
+        assertThat(converter.fromMessage(message, Event.class)).isNull();
+        assertThat(converter.toMessage(new Event<>(Event.Type.DELETE, 1L, 42L),
+                new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, "application/json")))).isNull();
+    }
+}
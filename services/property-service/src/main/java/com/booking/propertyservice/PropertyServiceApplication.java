@@ -3,9 +3,11 @@ package com.booking.propertyservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
 public class PropertyServiceApplication {
 
 	public static void main(String[] args) {
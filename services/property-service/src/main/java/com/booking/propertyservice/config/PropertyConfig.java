@@ -1,16 +1,42 @@
 package com.booking.propertyservice.config;
 
+import com.booking.bookingutils.http.ImageResponder;
+import com.booking.bookingutils.storage.CachingObjectStore;
+import com.booking.bookingutils.storage.GcsObjectStore;
+import com.booking.bookingutils.storage.LocalObjectStore;
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.commondomain.event.EventBinaryCodec;
+import com.booking.commondomain.event.EventMessageConverter;
+import com.booking.propertyservice.utils.InstrumentedExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.booking.propertyservice.utils.VirtualThreads;
+import com.google.cloud.storage.Storage;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NamingConventions;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @Slf4j
@@ -20,6 +46,9 @@ public class PropertyConfig {
     @Value("${spring.datasource.hikari.maximum-pool-size:10}")
     Integer connectionPoolSize;
 
+    @Value("${property-service.jdbc.execution-mode:platform}")
+    String executionMode;
+
     @Bean
     public ModelMapper modelMapper() {
         ModelMapper modelMapper = new ModelMapper();
@@ -31,14 +60,92 @@ public class PropertyConfig {
     }
 
     @Bean
-    public Scheduler jdbcScheduler() {
-        log.info("Creates a jdbcScheduler with connectionPoolSize = {}", connectionPoolSize);
-        return Schedulers.fromExecutor(Executors.newFixedThreadPool(connectionPoolSize));
+    public InstrumentedExecutor jdbcExecutor(MeterRegistry meterRegistry) {
+        if ("virtual".equalsIgnoreCase(executionMode)) {
+            Optional<ExecutorService> virtualThreads = VirtualThreads.newPerTaskExecutor();
+            if (virtualThreads.isPresent()) {
+                log.info("Creates a virtual thread jdbcExecutor bounded by connectionPoolSize = {}", connectionPoolSize);
+                return new InstrumentedExecutor(VirtualThreads.bounded(virtualThreads.get(), connectionPoolSize),
+                        meterRegistry);
+            }
+            log.warn("Virtual threads require Java 21, falling back to a fixed jdbcExecutor");
+        }
+        log.info("Creates a jdbcExecutor with connectionPoolSize = {}", connectionPoolSize);
+        return new InstrumentedExecutor(Executors.newFixedThreadPool(connectionPoolSize), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property-service.object-store.type", havingValue = "gcs", matchIfMissing = true)
+    public ObjectStore gcsObjectStore(Storage storage, @Value("${property-service.bucket-name}") String bucketName) {
+        return new GcsObjectStore(storage, bucketName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property-service.object-store.type", havingValue = "local")
+    public ObjectStore localObjectStore(@Value("${property-service.object-store.local-root}") String root) {
+        log.info("Creates a local object store rooted at {}", root);
+        return new LocalObjectStore(root);
+    }
+
+    @Bean
+    public ImageResponder imageResponder(ObjectStore objectStore, MeterRegistry meterRegistry,
+                                         @Value("${property-service.image-cache.enabled:true}") boolean cacheEnabled,
+                                         @Value("${property-service.image-cache.directory}") String cacheDirectory,
+                                         @Value("${property-service.image-cache.memory-budget:64MB}") DataSize memoryBudget,
+                                         @Value("${property-service.image-cache.memory-max-object:256KB}") DataSize memoryMaxObject,
+                                         @Value("${property-service.image-cache.disk-budget:2GB}") DataSize diskBudget,
+                                         @Value("${property-service.image-cache.disk-max-object:16MB}") DataSize diskMaxObject) {
+        ObjectStore imageStore = objectStore;
+        if (cacheEnabled) {
+            log.info("Creates an image cache in {} with memoryBudget = {}, diskBudget = {}",
+                    cacheDirectory, memoryBudget, diskBudget);
+            imageStore = new CachingObjectStore(objectStore, new CachingObjectStore.Settings()
+                    .setName("images")
+                    .setDiskDirectory(Paths.get(cacheDirectory))
+                    .setMemoryBudgetBytes(memoryBudget.toBytes())
+                    .setMemoryMaxObjectBytes(memoryMaxObject.toBytes())
+                    .setDiskBudgetBytes(diskBudget.toBytes())
+                    .setDiskMaxObjectBytes(diskMaxObject.toBytes()), meterRegistry);
+        }
+        return new ImageResponder(imageStore, CacheControl.maxAge(Duration.ofDays(365)).cachePublic());
+    }
+
+    /**
+     * Calls that name a client registration through {@code clientRegistrationId} get a client-credentials
+     * token; the manager works outside of a web exchange, so startup calls are authorized as well.
+     */
+    @Bean
+    WebClient webClient(WebClient.Builder builder,
+                        ReactiveClientRegistrationRepository clientRegistrations,
+                        ReactiveOAuth2AuthorizedClientService authorizedClients) {
+        AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager clientManager =
+                new AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager(clientRegistrations, authorizedClients);
+        return builder
+                .filter(new ServerOAuth2AuthorizedClientExchangeFilterFunction(clientManager))
+                .build();
+    }
+
+    @Bean
+    public EventBinaryCodec eventBinaryCodec(ObjectMapper objectMapper) {
+        return new EventBinaryCodec(objectMapper);
+    }
+
+    @Bean
+    public MessageConverter eventMessageConverter(EventBinaryCodec eventBinaryCodec) {
+        return new EventMessageConverter(eventBinaryCodec);
     }
 
+    /**
+     * Declares the reservations exchange and its audit queue the way the stream binder provisions a
+     * destination with a required group, as the outbox relay publishes to it directly.
+     */
     @Bean
-    WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public Declarables reservationsDestination(
+            @Value("${property-service.messaging.reservations.destination:reservations}") String destination,
+            @Value("${property-service.messaging.reservations.audit-group:auditGroup}") String auditGroup) {
+        TopicExchange exchange = new TopicExchange(destination);
+        Queue auditQueue = new Queue(destination + "." + auditGroup);
+        return new Declarables(exchange, auditQueue, BindingBuilder.bind(auditQueue).to(exchange).with("#"));
     }
 
 }
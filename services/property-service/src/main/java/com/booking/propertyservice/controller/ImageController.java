@@ -1,36 +1,41 @@
 package com.booking.propertyservice.controller;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.http.MediaType;
+import com.booking.bookingutils.http.ImageResponder;
+import com.booking.propertyservice.service.imageservice.ImageVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 @CrossOrigin("*")
 @RestController
+@RequiredArgsConstructor
 public class ImageController {
 
-    @Value("gs://booking-bucket-1/")
-    Resource gcsFile;
+    private static final CacheControl PENDING_DERIVATIVE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
 
+    private final ImageResponder imageResponder;
 
-    @GetMapping(value = "/image/**", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<byte[]> getImageWithMediaType(ServerHttpRequest request) throws IOException {
-        String path = request.getPath().toString().replace("/image/","");
-
-        Resource resource = gcsFile.createRelative(path);
-
-        byte[] bytes = StreamUtils.copyToByteArray(resource.getInputStream());
-
-        return ResponseEntity
-                .ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(bytes);
+    @GetMapping("/image/**")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getImage(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value().replace("/image/", "");
+        String key = UriUtils.decode(path, StandardCharsets.UTF_8);
+        return imageResponder.serve(key, request)
+                .flatMap(response -> response.getStatusCode() == HttpStatus.NOT_FOUND
+                        ? ImageVariant.originalKey(key)
+                                .map(originalKey -> imageResponder.serve(originalKey, request, PENDING_DERIVATIVE))
+                                .orElse(Mono.just(response))
+                        : Mono.just(response));
     }
 }
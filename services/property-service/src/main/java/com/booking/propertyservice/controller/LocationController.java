@@ -0,0 +1,29 @@
+package com.booking.propertyservice.controller;
+
+import com.booking.commondomain.dto.property.LocationSuggestionDto;
+import com.booking.propertyservice.service.locationservice.LocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@CrossOrigin("*")
+@Slf4j
+@Validated
+@RequestMapping("/locations")
+@RestController
+@RequiredArgsConstructor
+public class LocationController {
+
+    private final LocationService locationService;
+
+    @GetMapping("/autocomplete")
+    public Flux<LocationSuggestionDto> autocomplete(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "5") @Min(1) @Max(LocationService.MAX_SUGGESTIONS) int limit) {
+        return locationService.autocomplete(prefix, limit);
+    }
+}
@@ -21,6 +21,8 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.Set;
 
 @CrossOrigin("*")
 @RequestMapping("/properties")
@@ -65,4 +67,9 @@ public class PropertyController {
     public Mono<PropertyReservationDataDto> getPropertyById(@NotNull @Positive @PathVariable Long propertyId) {
         return propertyService.getPropertyById(propertyId);
     }
+
+    @PostMapping(value = "/property-reservation/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PropertyReservationDataDto> getPropertiesByIds(@NotEmpty @Size(max = 1000) @RequestBody Set<Long> propertyIds) {
+        return propertyService.getPropertiesByIds(propertyIds);
+    }
 }
@@ -0,0 +1,97 @@
+package com.booking.propertyservice.controller;
+
+import com.booking.propertyservice.service.referencedataservice.ReferenceDataBundle;
+import com.booking.propertyservice.service.referencedataservice.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+
+@CrossOrigin("*")
+@Slf4j
+@RequestMapping("/reference-data")
+@RestController
+@RequiredArgsConstructor
+public class ReferenceDataController {
+
+    private static final CacheControl LATEST = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic()
+            .staleWhileRevalidate(Duration.ofHours(1));
+    private static final CacheControl VERSIONED = CacheControl.maxAge(Duration.ofDays(365)).cachePublic();
+
+    private final ReferenceDataService referenceDataService;
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getReferenceData(ServerHttpRequest request) {
+        return referenceDataService.getBundle()
+                .map(bundle -> respond(bundle, request, LATEST));
+    }
+
+    @GetMapping("/{version}")
+    public Mono<ResponseEntity<byte[]>> getReferenceData(@PathVariable String version, ServerHttpRequest request) {
+        return referenceDataService.getBundle()
+                .map(bundle -> bundle.getVersion().equals(version)
+                        ? respond(bundle, request, VERSIONED)
+                        : ResponseEntity.status(HttpStatus.FOUND)
+                                .location(URI.create("/reference-data/" + bundle.getVersion()))
+                                .build());
+    }
+
+    private ResponseEntity<byte[]> respond(ReferenceDataBundle bundle, ServerHttpRequest request,
+                                           CacheControl cacheControl) {
+        HttpHeaders requestHeaders = request.getHeaders();
+        boolean gzip = acceptsGzip(requestHeaders);
+        String etag = gzip ? bundle.getGzipEtag() : bundle.getEtag();
+        if (requestHeaders.getIfNoneMatch().stream()
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(bundle.getGzip());
+        }
+        return response.body(bundle.getIdentity());
+    }
+
+    static boolean acceptsGzip(HttpHeaders headers) {
+        return headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .anyMatch(encoding -> {
+                    String[] parts = encoding.split(";");
+                    return parts[0].trim().equalsIgnoreCase("gzip") && quality(parts) > 0;
+                });
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
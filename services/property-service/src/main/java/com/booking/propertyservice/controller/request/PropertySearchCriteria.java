@@ -30,4 +30,14 @@ public class PropertySearchCriteria {
     @NotNull
     @Min(value = 0)
     private int currentPage;
+
+    @Positive
+    private Long lastId;
+
+    @PositiveOrZero
+    private Float lastPrice;
+
+    public boolean hasCursor() {
+        return lastId != null && lastPrice != null;
+    }
 }
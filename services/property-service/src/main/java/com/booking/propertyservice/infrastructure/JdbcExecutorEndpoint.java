@@ -0,0 +1,50 @@
+package com.booking.propertyservice.infrastructure;
+
+import com.booking.propertyservice.utils.InstrumentedExecutor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation breakdown of the blocking jdbc executor, exposed as {@code /actuator/jdbcexecutor}.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "jdbcexecutor")
+public class JdbcExecutorEndpoint {
+
+    private final InstrumentedExecutor jdbcExecutor;
+
+    @ReadOperation
+    public Map<String, OperationStats> operations() {
+        Map<String, OperationStats> breakdown = new TreeMap<>();
+        jdbcExecutor.getOperations().forEach((name, operation) -> breakdown.put(name, new OperationStats(
+                operation.getActive().get(),
+                operation.getQueued().get(),
+                operation.getExecutionTimer().count(),
+                (long) operation.getRejected().count(),
+                operation.getWaitTimer().mean(TimeUnit.MILLISECONDS),
+                operation.getWaitTimer().max(TimeUnit.MILLISECONDS),
+                operation.getExecutionTimer().mean(TimeUnit.MILLISECONDS),
+                operation.getExecutionTimer().max(TimeUnit.MILLISECONDS))));
+        return breakdown;
+    }
+
+    @Data
+    public static class OperationStats {
+        private final int active;
+        private final int queued;
+        private final long completed;
+        private final long rejected;
+        private final double meanWaitMillis;
+        private final double maxWaitMillis;
+        private final double meanExecutionMillis;
+        private final double maxExecutionMillis;
+    }
+}
@@ -0,0 +1,94 @@
+package com.booking.propertyservice.infrastructure;
+
+import com.booking.bookingutils.exception.EventProcessingException;
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.commondomain.event.Event;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.propertyservice.PropertySearchCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static java.lang.String.valueOf;
+
+/**
+ * Reactive consumer of reservation events. Events are applied one after another, as a deletion has to see
+ * the creation it undoes. A failing event is retried with backoff, up to {@code maxAttempts} attempts in total,
+ * and then logged and skipped instead of stopping the stream; an event of an unknown type is skipped at once.
+ * <p>
+ * Spring Cloud Function does not resolve the type arguments of a {@link Message} payload, so a JSON event
+ * carries its reservation as a map, which is converted here; binary events already decode to the DTO.
+ */
+@Slf4j
+@Configuration
+public class MessageProcessor {
+
+    private final AvailabilityReplica availabilityReplica;
+    private final PropertySearchCache propertySearchCache;
+    private final ObjectMapper objectMapper;
+    private final Retry eventRetry;
+
+    public MessageProcessor(AvailabilityReplica availabilityReplica,
+                            PropertySearchCache propertySearchCache,
+                            ObjectMapper objectMapper,
+                            @Value("${property-service.availability-replica.retry.max-attempts:3}") int maxAttempts,
+                            @Value("${property-service.availability-replica.retry.initial-backoff:500ms}") Duration initialBackoff,
+                            @Value("${property-service.availability-replica.retry.max-backoff:1s}") Duration maxBackoff) {
+        this.availabilityReplica = availabilityReplica;
+        this.propertySearchCache = propertySearchCache;
+        this.objectMapper = objectMapper;
+        this.eventRetry = Retry.backoff(maxAttempts - 1, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .filter(error -> !(error instanceof EventProcessingException))
+                .doBeforeRetry(signal -> log.warn("Retrying reservation event after attempt {} failed: {}",
+                        signal.totalRetries() + 1, signal.failure().getMessage()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Bean
+    public Consumer<Flux<Message<Event<?, ?>>>> updateAvailability() {
+        return messages -> messages
+                .concatMap(message -> Mono.fromRunnable(() -> updateAvailability(message.getPayload()))
+                        .retryWhen(eventRetry)
+                        .onErrorResume(error -> {
+                            log.error("Failed to process reservation event {}: {}",
+                                    message.getPayload().getKey(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    private void updateAvailability(Event<?, ?> event) {
+        log.debug("Process reservation event for reservation {}...", event.getKey());
+
+        ReservationDto reservation = toReservation(event.getData());
+        if (event.getEventType() == Event.Type.CREATE) {
+            availabilityReplica.add(reservation);
+        } else if (event.getEventType() == Event.Type.DELETE) {
+            availabilityReplica.remove(reservation);
+        } else {
+            String errorMessage =
+                    "Incorrect event type: "
+                            .concat(valueOf(event.getEventType()))
+                            .concat(", expected a CREATE or DELETE event");
+            log.warn(errorMessage);
+            throw new EventProcessingException(errorMessage);
+        }
+        propertySearchCache.invalidateLocation(reservation.getLocation());
+    }
+
+    private ReservationDto toReservation(Object data) {
+        return data instanceof ReservationDto
+                ? (ReservationDto) data
+                : objectMapper.convertValue(data, ReservationDto.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.booking.propertyservice.infrastructure;
+
+import com.booking.propertyservice.model.OutboxEvent;
+import com.booking.propertyservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table to RabbitMQ. Every batch is locked with SKIP LOCKED, published in one channel,
+ * confirmed by the broker and only then deleted, so events are delivered at least once. Instances drain
+ * disjoint batches concurrently, so consumers must not rely on the outbox order.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       TransactionTemplate transactionTemplate,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${property-service.outbox.batch-size:100}") int batchSize,
+                       @Value("${property-service.outbox.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.published = meterRegistry.counter("outbox.events.published");
+        this.failures = meterRegistry.counter("outbox.relay.failures");
+        meterRegistry.gauge("outbox.events.pending", pending);
+    }
+
+    @Scheduled(fixedDelayString = "${property-service.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            pending.set(outboxEventRepository.count());
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to relay outbox events, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        rabbitTemplate.invoke(operations -> {
+            events.forEach(event -> operations.send(event.getDestination(), event.getDestination(), toMessage(event)));
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+        outboxEventRepository.deleteInBatch(events);
+        published.increment(events.size());
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(event.getContentType());
+        properties.setHeader(MessageHeaders.CONTENT_TYPE, event.getContentType());
+        properties.setMessageId(String.valueOf(event.getId()));
+        properties.setDeliveryMode(MessageProperties.DEFAULT_DELIVERY_MODE);
+        return new Message(event.getPayload(), properties);
+    }
+}
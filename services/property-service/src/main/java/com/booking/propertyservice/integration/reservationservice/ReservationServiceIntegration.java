@@ -1,5 +1,7 @@
 package com.booking.propertyservice.integration.reservationservice;
 
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.propertyservice.model.OutboxEvent;
 import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
@@ -8,5 +10,7 @@ public interface ReservationServiceIntegration {
 
     Flux<Long> getPropertyIds(String location, LocalDate checkIn, LocalDate checkOut);
 
-    void deleteAllReservationsByPropertyId(Long propertyId);
+    Flux<ReservationDto> getActiveReservations();
+
+    OutboxEvent deleteAllReservationsByPropertyIdEvent(Long propertyId);
 }
@@ -1,30 +1,41 @@
 package com.booking.propertyservice.integration.reservationservice;
 
+import com.booking.commondomain.dto.reservation.ReservationDto;
 import com.booking.commondomain.event.Event;
+import com.booking.commondomain.event.EventBinaryCodec;
+import com.booking.propertyservice.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.stream.annotation.EnableBinding;
-import org.springframework.integration.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import static com.booking.commondomain.event.Event.Type.DELETE;
+import static org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction.clientRegistrationId;
 
 @Slf4j
 @Component
-@EnableBinding(MessageSources.class)
 @RequiredArgsConstructor
 public class ReservationServiceIntegrationImpl implements ReservationServiceIntegration {
 
-    private final MessageSources messageSources;
+    private static final String CLIENT_REGISTRATION = "reservation-service";
+
     @Value("${property-service.reservation-service.url}")
     private String reservationServiceUrl;
+    @Value("${property-service.messaging.reservations.destination:reservations}")
+    private String reservationsDestination;
+    @Value("${property-service.messaging.reservations.content-type:application/json}")
+    private String reservationsContentType;
     private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final EventBinaryCodec eventBinaryCodec;
 
     @Override
     public Flux<Long> getPropertyIds(String location, LocalDate checkIn, LocalDate checkOut) {
@@ -47,11 +58,45 @@ public class ReservationServiceIntegrationImpl implements ReservationServiceInte
     }
 
     @Override
-    public void deleteAllReservationsByPropertyId(Long propertyId) {
-        log.info("Deleting all reservations for property with ID: {}", propertyId);
+    public Flux<ReservationDto> getActiveReservations() {
+        var url = UriComponentsBuilder
+                .fromUriString(reservationServiceUrl)
+                .path("/reservations/active")
+                .build();
+
+        log.debug("Fetching active reservations with URL: {}", url);
+
+        return webClient
+                .get()
+                .uri(url.toUri())
+                .attributes(clientRegistrationId(CLIENT_REGISTRATION))
+                .retrieve()
+                .bodyToFlux(ReservationDto.class);
+    }
+
+    @Override
+    public OutboxEvent deleteAllReservationsByPropertyIdEvent(Long propertyId) {
+        log.debug("Creating reservations deletion event for property with ID: {}", propertyId);
 
         Event<Long, Long> event = new Event<>(DELETE, propertyId, propertyId);
 
-        messageSources.outputReservations().send(MessageBuilder.withPayload(event).build());
+        return new OutboxEvent()
+                .setDestination(reservationsDestination)
+                .setAggregateId(String.valueOf(propertyId))
+                .setEventType(DELETE.name())
+                .setPayload(serialize(event))
+                .setContentType(reservationsContentType)
+                .setCreatedAt(Instant.now());
+    }
+
+    private byte[] serialize(Event<Long, Long> event) {
+        if (EventBinaryCodec.MIME_TYPE.equals(reservationsContentType)) {
+            return eventBinaryCodec.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reservations deletion event", e);
+        }
     }
 }
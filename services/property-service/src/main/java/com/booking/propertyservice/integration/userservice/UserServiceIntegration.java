@@ -2,8 +2,10 @@ package com.booking.propertyservice.integration.userservice;
 
 import com.booking.commondomain.dto.user.UserDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface UserServiceIntegration {
@@ -11,4 +13,6 @@ public interface UserServiceIntegration {
     Mono<UserDetailsDto> findUserByEmail(String email);
 
     Mono<UserDto> getUserById(UUID userId);
+
+    Flux<UserDto> getUsersByIds(Collection<UUID> userIds);
 }
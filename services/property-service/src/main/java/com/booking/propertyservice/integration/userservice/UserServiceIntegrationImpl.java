@@ -6,18 +6,23 @@ import com.booking.commondomain.dto.user.UserDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class UserServiceIntegrationImpl implements UserServiceIntegration {
 
+    private static final int BATCH_SIZE = 500;
+
     @Value("${property-service.user-service.url}")
     private String userServiceUrl;
     private final WebClient webClient;
@@ -50,4 +55,23 @@ public class UserServiceIntegrationImpl implements UserServiceIntegration {
                 .bodyToMono(UserDto.class)
                 .onErrorMap(WebClientResponseException.class, ex -> new NotFoundException(ex.getMessage()));
     }
+
+    @Override
+    public Flux<UserDto> getUsersByIds(Collection<UUID> userIds) {
+        var url = UriComponentsBuilder.fromUriString(userServiceUrl.concat("/users/batch"))
+                .build()
+                .toUri();
+
+        return Flux.fromIterable(userIds)
+                .distinct()
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> webClient
+                        .post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .bodyValue(batch)
+                        .retrieve()
+                        .bodyToFlux(UserDto.class));
+    }
 }
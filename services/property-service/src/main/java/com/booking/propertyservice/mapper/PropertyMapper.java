@@ -2,25 +2,33 @@ package com.booking.propertyservice.mapper;
 
 import com.booking.commondomain.dto.property.*;
 import com.booking.propertyservice.model.*;
+import com.booking.propertyservice.repository.projection.PropertyListingView;
+import com.booking.propertyservice.repository.projection.PropertyReservationDataView;
+import com.booking.propertyservice.service.imageservice.ImageVariant;
 
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class PropertyMapper {
 
-    public static PropertyDto toPropertyDto(Property property) {
+    public static PropertyDto toPropertyDto(PropertyListingView property) {
         return new PropertyDto()
                 .setId(property.getId())
                 .setTitle(property.getTitle())
-                .setPropertyType(property.getPropertyType().getName())
-                .setGuestSpace(property.getGuestSpace().getName())
+                .setPropertyType(property.getPropertyType())
+                .setGuestSpace(property.getGuestSpace())
                 .setMaxGuestNumber(property.getMaxGuestNumber())
                 .setBedroomNumber(property.getBedroomNumber())
                 .setPricePerNight(property.getPricePerNight())
                 .setBathNumber(property.getBathNumber())
-                .setCountry(property.getAddress().getCountry().getName())
-                .setImage(property.getImages().iterator().next().getName())
-                .setAmenities(property.getAmenities().stream().map(NameEntity::getName).collect(Collectors.toSet()));
+                .setCountry(property.getCountry())
+                .setImage(property.getImage())
+                .setImageVariants(ImageVariant.variantsOf(property.getImage()))
+                .setAmenities(property.getAmenities() == null
+                        ? new HashSet<>()
+                        : new HashSet<>(Arrays.asList(property.getAmenities()
+                                .split(Pattern.quote(PropertyListingView.AMENITY_SEPARATOR)))));
     }
 
     public static PropertyDetailsDto toPropertyDetailsDto(Property property) {
@@ -75,11 +83,12 @@ public class PropertyMapper {
         return property;
     }
 
-    public static PropertyReservationDataDto toPropertyReservationDataDto(Property property) {
+    public static PropertyReservationDataDto toPropertyReservationDataDto(PropertyReservationDataView property) {
         return new PropertyReservationDataDto()
+                .setId(property.getId())
                 .setTitle(property.getTitle())
-                .setPropertyType(property.getPropertyType().getName())
+                .setPropertyType(property.getPropertyType())
                 .setPricePerNight(property.getPricePerNight())
-                .setLocation(property.getAddress().getCountry().getName());
+                .setLocation(property.getLocation());
     }
 }
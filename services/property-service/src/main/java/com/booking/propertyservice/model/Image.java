@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
@@ -24,6 +25,9 @@ public class Image extends NameEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Property property;
 
+    @Column(name = "derivatives_generated")
+    private Boolean derivativesGenerated;
+
     public Image(String name) {
         super(name);
     }
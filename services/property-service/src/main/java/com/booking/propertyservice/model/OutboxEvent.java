@@ -0,0 +1,44 @@
+package com.booking.propertyservice.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * An integration event written in the same transaction as the change it describes and published later by
+ * the outbox relay.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@Accessors(chain = true)
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent extends BaseEntity {
+
+    @Column(nullable = false)
+    private String destination;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
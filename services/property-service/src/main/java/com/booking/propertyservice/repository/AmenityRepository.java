@@ -0,0 +1,9 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.propertyservice.model.Amenity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AmenityRepository extends JpaRepository<Amenity, Long> {
+}
@@ -1,6 +1,7 @@
 package com.booking.propertyservice.repository;
 
 import com.booking.propertyservice.model.Country;
+import com.booking.propertyservice.repository.projection.LocationCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -15,4 +16,11 @@ public interface CountryRepository extends JpaRepository<Country, Long> {
     @Query(nativeQuery = true, value = "SELECT * FROM countries c WHERE c.name LIKE :name% order by c.id LIMIT 5")
     List<Country> findCountryByName(@Param("name") String name);
 
+    @Query(nativeQuery = true, value = "SELECT c.name AS country, NULL AS city, count(p.id) AS propertyCount" +
+            " FROM countries c" +
+            " left join addresses a on a.country_id = c.id" +
+            " left join properties p on p.address_id = a.id" +
+            " GROUP BY c.name")
+    List<LocationCount> countPropertiesByCountry();
+
 }
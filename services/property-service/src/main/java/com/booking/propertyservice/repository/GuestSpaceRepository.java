@@ -0,0 +1,9 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.propertyservice.model.GuestSpace;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GuestSpaceRepository extends JpaRepository<GuestSpace, Long> {
+}
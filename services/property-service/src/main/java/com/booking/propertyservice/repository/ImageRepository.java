@@ -0,0 +1,27 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.propertyservice.model.Image;
+import com.booking.propertyservice.repository.projection.ImageReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    @Query("SELECT i.id AS id, i.name AS name FROM Image i" +
+            " WHERE i.id > :afterId and (i.derivativesGenerated IS NULL or i.derivativesGenerated = false)" +
+            " ORDER BY i.id")
+    List<ImageReference> findWithoutDerivatives(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.derivativesGenerated = true WHERE i.id = :imageId")
+    int markDerivativesGenerated(@Param("imageId") Long imageId);
+}
@@ -0,0 +1,19 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.propertyservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events for the current transaction, skipping rows another relay instance holds.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM outbox_events ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED")
+    List<OutboxEvent> lockNextBatch(@Param("batchSize") int batchSize);
+}
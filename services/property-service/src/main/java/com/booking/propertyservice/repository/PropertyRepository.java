@@ -1,52 +1,106 @@
 package com.booking.propertyservice.repository;
 
 import com.booking.propertyservice.model.Property;
-import org.springframework.data.domain.Pageable;
+import com.booking.propertyservice.repository.projection.LocationCount;
+import com.booking.propertyservice.repository.projection.PropertyListingView;
+import com.booking.propertyservice.repository.projection.PropertyLocation;
+import com.booking.propertyservice.repository.projection.PropertyReservationDataView;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PropertyRepository extends PagingAndSortingRepository<Property, Long> {
 
-    @Query(nativeQuery = true, value = "SELECT * FROM properties p" +
-            " inner join addresses c on p.address_id = c.id" +
+    String LISTING_COLUMNS = "SELECT page.id AS id, page.title AS title, pt.name AS propertyType," +
+            " gs.name AS guestSpace, page.max_guest_number AS maxGuestNumber, page.bedroom_number AS bedroomNumber," +
+            " page.bath_number AS bathNumber, page.price_per_night AS pricePerNight, page.country AS country," +
+            " (SELECT i.name FROM images i WHERE i.property_id = page.id ORDER BY i.id LIMIT 1) AS image," +
+            " (SELECT GROUP_CONCAT(am.name SEPARATOR '|') FROM property_amenities pa" +
+            " inner join amenities am on pa.amenity_id = am.id WHERE pa.property_id = page.id) AS amenities," +
+            " page.total_elements AS totalElements";
+
+    String LISTING_SOURCE = " SELECT p.*, c.name AS country, COUNT(*) OVER() AS total_elements," +
+            " CAST(p.price_per_night AS DECIMAL(12, 2)) AS sort_price" +
+            " FROM properties p" +
+            " inner join addresses a on p.address_id = a.id" +
+            " inner join countries c on a.country_id = c.id";
+
+    String SEARCH_FILTER = " left join JSON_TABLE(:bookedIds, '$[*]' COLUMNS (id BIGINT PATH '$')) b on b.id = p.id" +
             " WHERE" +
-            " p.max_guest_number >= :guestNumber" +
+            " c.name = :location" +
             " and" +
-            " p.address_id in" +
-            " (SELECT a.id FROM addresses a inner join countries c on a.country_id = c.id WHERE c.name = :location)" +
+            " p.max_guest_number >= :guestNumber" +
             " and" +
-            " p.id not in :propertyIds")
-    List<Property> searchProperties(
-            @Param("propertyIds") List<Long> propertyIds,
+            " b.id IS NULL";
+
+    String LISTING_JOINS = " inner join property_types pt on page.property_type_id = pt.id" +
+            " inner join guest_spaces gs on page.guest_space_id = gs.id";
+
+    @Query(nativeQuery = true, value = LISTING_COLUMNS + " FROM (" + LISTING_SOURCE +
+            SEARCH_FILTER + ") page" +
+            LISTING_JOINS +
+            " WHERE" +
+            " NOT :keyset" +
+            " or" +
+            " (page.sort_price, page.id) > (CAST(:lastPrice AS DECIMAL(12, 2)), :lastId)" +
+            " ORDER BY page.sort_price, page.id" +
+            " LIMIT :pageSize OFFSET :offset")
+    List<PropertyListingView> searchPage(
+            @Param("bookedIds") String bookedIds,
             @Param("location") String location,
             @Param("guestNumber") int guestNumber,
-            Pageable pageable);
+            @Param("keyset") boolean keyset,
+            @Param("lastPrice") float lastPrice,
+            @Param("lastId") long lastId,
+            @Param("pageSize") int pageSize,
+            @Param("offset") int offset);
 
-    @Query(nativeQuery = true, value = "SELECT count(*) FROM properties p" +
-            " inner join addresses c on p.address_id = c.id" +
-            " WHERE" +
-            " p.max_guest_number >= :guestNumber" +
-            " and" +
-            " p.address_id in" +
-            " (SELECT a.id FROM addresses a inner join countries c on a.country_id = c.id WHERE c.name = :location)" +
-            " and" +
-            " p.id not in :propertyIds")
-    int count(
-            @Param("propertyIds") List<Long> propertyIds,
+    @Query(nativeQuery = true, value = "SELECT COUNT(*) FROM properties p" +
+            " inner join addresses a on p.address_id = a.id" +
+            " inner join countries c on a.country_id = c.id" +
+            SEARCH_FILTER)
+    long countSearchMatches(
+            @Param("bookedIds") String bookedIds,
             @Param("location") String location,
             @Param("guestNumber") int guestNumber);
 
-    @Query(nativeQuery = true, value = "SELECT * from properties where owner = :ownerId")
-    List<Property> findByOwner(@Param("ownerId") String ownerId, Pageable pageable);
+    @Query(nativeQuery = true, value = LISTING_COLUMNS + " FROM (" + LISTING_SOURCE +
+            " WHERE p.owner = :ownerId) page" +
+            LISTING_JOINS +
+            " ORDER BY page.id" +
+            " LIMIT :pageSize OFFSET :offset")
+    List<PropertyListingView> findListingsByOwner(
+            @Param("ownerId") String ownerId,
+            @Param("pageSize") int pageSize,
+            @Param("offset") int offset);
+
+    long countByOwner(String owner);
+
+    @Query(nativeQuery = true, value = "SELECT p.id AS id, p.title AS title, pt.name AS propertyType," +
+            " p.price_per_night AS pricePerNight, c.name AS location" +
+            " FROM properties p" +
+            " inner join property_types pt on p.property_type_id = pt.id" +
+            " inner join addresses a on p.address_id = a.id" +
+            " inner join countries c on a.country_id = c.id" +
+            " WHERE p.id IN (:propertyIds)")
+    List<PropertyReservationDataView> findReservationDataByIds(@Param("propertyIds") Collection<Long> propertyIds);
 
-    @Query(nativeQuery = true, value = "SELECT count(*) from properties where owner = :ownerId")
-    int count(String ownerId);
+    @Query(nativeQuery = true, value = "SELECT c.name AS country, a.city AS city FROM properties p" +
+            " inner join addresses a on p.address_id = a.id" +
+            " inner join countries c on a.country_id = c.id" +
+            " WHERE p.id = :propertyId")
+    PropertyLocation findLocationById(@Param("propertyId") Long propertyId);
 
-    Property getPropertyById(Long propertyId);
+    @Query(nativeQuery = true, value = "SELECT c.name AS country, a.city AS city, count(p.id) AS propertyCount" +
+            " FROM properties p" +
+            " inner join addresses a on p.address_id = a.id" +
+            " inner join countries c on a.country_id = c.id" +
+            " GROUP BY c.name, a.city")
+    List<LocationCount> countPropertiesByCity();
 }
 
@@ -0,0 +1,8 @@
+package com.booking.propertyservice.repository.projection;
+
+public interface ImageReference {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,6 @@
+package com.booking.propertyservice.repository.projection;
+
+public interface LocationCount extends PropertyLocation {
+
+    Long getPropertyCount();
+}
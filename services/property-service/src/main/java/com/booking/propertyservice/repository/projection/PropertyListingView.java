@@ -0,0 +1,34 @@
+package com.booking.propertyservice.repository.projection;
+
+/**
+ * Flat listing row with exactly the columns a search or owner page shows: the first image name and the
+ * amenity names (separated by {@link #AMENITY_SEPARATOR}) are aggregated in the query itself.
+ */
+public interface PropertyListingView {
+
+    String AMENITY_SEPARATOR = "|";
+
+    Long getId();
+
+    String getTitle();
+
+    String getPropertyType();
+
+    String getGuestSpace();
+
+    Integer getMaxGuestNumber();
+
+    Integer getBedroomNumber();
+
+    Integer getBathNumber();
+
+    Float getPricePerNight();
+
+    String getCountry();
+
+    String getImage();
+
+    String getAmenities();
+
+    Long getTotalElements();
+}
@@ -0,0 +1,8 @@
+package com.booking.propertyservice.repository.projection;
+
+public interface PropertyLocation {
+
+    String getCountry();
+
+    String getCity();
+}
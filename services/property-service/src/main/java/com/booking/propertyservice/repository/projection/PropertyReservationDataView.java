@@ -0,0 +1,14 @@
+package com.booking.propertyservice.repository.projection;
+
+public interface PropertyReservationDataView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getPropertyType();
+
+    Float getPricePerNight();
+
+    String getLocation();
+}
@@ -27,6 +27,9 @@ public class WebSecurity {
                 .authorizeExchange()
                 .pathMatchers("/properties/**").permitAll()
                 .pathMatchers("/countries/**").permitAll()
+                .pathMatchers("/locations/**").permitAll()
+                .pathMatchers("/reference-data/**").permitAll()
+                .pathMatchers("/actuator/health").permitAll()
                 .pathMatchers("/image/**").permitAll()
                 .anyExchange()
                 .authenticated()
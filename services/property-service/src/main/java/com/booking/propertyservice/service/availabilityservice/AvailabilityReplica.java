@@ -0,0 +1,227 @@
+package com.booking.propertyservice.service.availabilityservice;
+
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Local replica of reserved property ids, kept as one bitmap of booked property ids per location and day.
+ * It is seeded from reservation-service on startup and then fed by reservation created/deleted events.
+ * Events are applied while the seed is still streaming in; reservations and properties removed in that window
+ * are kept as tombstones until warm-up completes, so the seed cannot add them back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityReplica {
+
+    private final ReservationServiceIntegration reservationServiceIntegration;
+    private final Map<String, ReservationDto> reservations = new HashMap<>();
+    private final Map<Long, Set<String>> reservationIdsByProperty = new HashMap<>();
+    private final Map<String, NavigableMap<Long, BitSet>> bookedDays = new HashMap<>();
+    private final NavigableMap<Long, Set<String>> reservationIdsByCheckOut = new TreeMap<>();
+    private final Set<String> removedReservationIds = new HashSet<>();
+    private final Set<Long> removedPropertyIds = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reservationServiceIntegration.getActiveReservations()
+                .doOnNext(this::add)
+                .retryWhen(Retry.backoff(5, Duration.ofSeconds(2)))
+                .count()
+                .subscribe(count -> {
+                    markReady();
+                    log.info("Availability replica warmed up with {} reservations", count);
+                }, error -> log.error("Failed to warm up availability replica: {}", error.getMessage()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void markReady() {
+        lock.writeLock().lock();
+        try {
+            ready = true;
+            removedReservationIds.clear();
+            removedPropertyIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findBookedPropertyIds(String location, LocalDate checkIn, LocalDate checkOut) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, BitSet> days = bookedDays.get(location);
+            if (days == null) {
+                return List.of();
+            }
+            BitSet booked = new BitSet();
+            days.subMap(checkIn.toEpochDay(), true, checkOut.toEpochDay(), true)
+                    .values()
+                    .forEach(booked::or);
+            return booked.stream().mapToObj(Long::valueOf).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(ReservationDto reservation) {
+        lock.writeLock().lock();
+        try {
+            pruneExpired();
+            if (reservation.getCheckOut().toEpochDay() < LocalDate.now().toEpochDay()) {
+                return;
+            }
+            if (!ready && (removedReservationIds.contains(reservation.getId())
+                    || removedPropertyIds.contains(reservation.getPropertyId()))) {
+                return;
+            }
+            if (reservations.putIfAbsent(reservation.getId(), reservation) == null) {
+                reservationIdsByProperty
+                        .computeIfAbsent(reservation.getPropertyId(), propertyId -> new HashSet<>())
+                        .add(reservation.getId());
+                reservationIdsByCheckOut
+                        .computeIfAbsent(reservation.getCheckOut().toEpochDay(), day -> new HashSet<>())
+                        .add(reservation.getId());
+                markDays(reservation, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ReservationDto reservation) {
+        lock.writeLock().lock();
+        try {
+            pruneExpired();
+            if (!ready) {
+                removedReservationIds.add(reservation.getId());
+            }
+            ReservationDto removed = reservations.remove(reservation.getId());
+            if (removed != null) {
+                Set<String> remaining = reservationIdsByProperty.get(removed.getPropertyId());
+                remaining.remove(removed.getId());
+                if (remaining.isEmpty()) {
+                    reservationIdsByProperty.remove(removed.getPropertyId());
+                }
+                unindexCheckOut(removed);
+                markDays(removed, false);
+                remaining.stream()
+                        .map(reservations::get)
+                        .filter(other -> other.getLocation().equals(removed.getLocation()))
+                        .forEach(other -> markDays(other, true));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProperty(Long propertyId) {
+        lock.writeLock().lock();
+        try {
+            pruneExpired();
+            if (!ready) {
+                removedPropertyIds.add(propertyId);
+            }
+            Set<String> reservationIds = reservationIdsByProperty.remove(propertyId);
+            if (reservationIds != null) {
+                reservationIds.stream()
+                        .map(reservations::remove)
+                        .forEach(reservation -> {
+                            unindexCheckOut(reservation);
+                            markDays(reservation, false);
+                        });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(cron = "${property-service.availability-replica.prune-cron:0 5 0 * * *}")
+    public void prune() {
+        lock.writeLock().lock();
+        try {
+            pruneExpired();
+            long today = LocalDate.now().toEpochDay();
+            bookedDays.values().forEach(days -> days.headMap(today, false).clear());
+            bookedDays.values().removeIf(NavigableMap::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops reservations that checked out before today, the same horizon {@link #markDays} trims the
+     * booked days to. Runs under the write lock.
+     */
+    private void pruneExpired() {
+        NavigableMap<Long, Set<String>> expired = reservationIdsByCheckOut.headMap(LocalDate.now().toEpochDay(), false);
+        expired.values().forEach(reservationIds -> reservationIds.forEach(reservationId -> {
+            ReservationDto reservation = reservations.remove(reservationId);
+            if (reservation != null) {
+                Set<String> propertyReservations = reservationIdsByProperty.get(reservation.getPropertyId());
+                if (propertyReservations != null) {
+                    propertyReservations.remove(reservationId);
+                    if (propertyReservations.isEmpty()) {
+                        reservationIdsByProperty.remove(reservation.getPropertyId());
+                    }
+                }
+            }
+        }));
+        expired.clear();
+    }
+
+    private void unindexCheckOut(ReservationDto reservation) {
+        long checkOut = reservation.getCheckOut().toEpochDay();
+        Set<String> reservationIds = reservationIdsByCheckOut.get(checkOut);
+        if (reservationIds != null) {
+            reservationIds.remove(reservation.getId());
+            if (reservationIds.isEmpty()) {
+                reservationIdsByCheckOut.remove(checkOut);
+            }
+        }
+    }
+
+    private void markDays(ReservationDto reservation, boolean booked) {
+        NavigableMap<Long, BitSet> days = bookedDays.computeIfAbsent(reservation.getLocation(), location -> new TreeMap<>());
+        int propertyId = Math.toIntExact(reservation.getPropertyId());
+        long today = LocalDate.now().toEpochDay();
+        long first = Math.max(today, reservation.getCheckIn().toEpochDay());
+
+        days.headMap(today, false).clear();
+        for (long day = first; day <= reservation.getCheckOut().toEpochDay(); day++) {
+            if (booked) {
+                days.computeIfAbsent(day, key -> new BitSet()).set(propertyId);
+            } else {
+                BitSet bitSet = days.get(day);
+                if (bitSet != null) {
+                    bitSet.clear(propertyId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.booking.propertyservice.service.imageservice;
+
+import com.booking.propertyservice.repository.ImageRepository;
+import com.booking.propertyservice.repository.projection.ImageReference;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the missing derivatives of images uploaded before derivative generation existed. Images are
+ * paged by id, so a restart simply resumes with the images that are still not marked as generated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "property-service.image-derivatives.backfill.enabled", havingValue = "true")
+public class ImageDerivativeBackfill {
+
+    private final ImageRepository imageRepository;
+    private final ImageDerivativeGenerator imageDerivativeGenerator;
+    private final ReactiveUtils reactiveUtils;
+    private final int batchSize;
+
+    public ImageDerivativeBackfill(ImageRepository imageRepository,
+                                   ImageDerivativeGenerator imageDerivativeGenerator,
+                                   ReactiveUtils reactiveUtils,
+                                   @Value("${property-service.image-derivatives.backfill.batch-size:100}") int batchSize) {
+        this.imageRepository = imageRepository;
+        this.imageDerivativeGenerator = imageDerivativeGenerator;
+        this.reactiveUtils = reactiveUtils;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        nextBatch(0L)
+                .expand(batch -> batch.isEmpty()
+                        ? Mono.empty()
+                        : generate(batch).then(nextBatch(batch.get(batch.size() - 1).getId())))
+                .takeWhile(batch -> !batch.isEmpty())
+                .map(List::size)
+                .reduce(0L, Long::sum)
+                .subscribe(count -> log.info("Image derivative backfill finished after {} images", count),
+                        error -> log.error("Image derivative backfill failed: {}", error.getMessage()));
+    }
+
+    private Mono<List<ImageReference>> nextBatch(long afterId) {
+        return reactiveUtils.asyncMono("image-derivatives", () ->
+                Mono.fromCallable(() -> imageRepository.findWithoutDerivatives(afterId, PageRequest.of(0, batchSize))));
+    }
+
+    private Mono<Long> generate(List<ImageReference> images) {
+        Map<Long, String> imageNamesById = new LinkedHashMap<>();
+        images.forEach(image -> imageNamesById.put(image.getId(), image.getName()));
+        return imageDerivativeGenerator.generate(imageNamesById);
+    }
+}
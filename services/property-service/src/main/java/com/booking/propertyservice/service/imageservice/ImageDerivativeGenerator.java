@@ -0,0 +1,180 @@
+package com.booking.propertyservice.service.imageservice;
+
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.propertyservice.repository.ImageRepository;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Generates the {@link ImageVariant} derivatives of uploaded property images on a dedicated, bounded
+ * worker pool, so decoding and resizing never competes with request handling. Sources whose header
+ * declares more than {@code max-pixels} pixels are rejected before any pixel data is decoded, as a small,
+ * highly compressed file can otherwise expand into gigabytes of raster.
+ */
+@Slf4j
+@Component
+public class ImageDerivativeGenerator implements DisposableBean {
+
+    private final ObjectStore objectStore;
+    private final ImageRepository imageRepository;
+    private final ReactiveUtils reactiveUtils;
+    private final Scheduler workers;
+    private final int concurrency;
+    private final float quality;
+    private final int maxSourceBytes;
+    private final long maxPixels;
+
+    public ImageDerivativeGenerator(ObjectStore objectStore,
+                                    ImageRepository imageRepository,
+                                    ReactiveUtils reactiveUtils,
+                                    @Value("${property-service.image-derivatives.workers:2}") int workers,
+                                    @Value("${property-service.image-derivatives.queue-size:256}") int queueSize,
+                                    @Value("${property-service.image-derivatives.quality:0.82}") float quality,
+                                    @Value("${property-service.image-derivatives.max-source-size:32MB}") DataSize maxSourceSize,
+                                    @Value("${property-service.image-derivatives.max-pixels:40000000}") long maxPixels) {
+        this.objectStore = objectStore;
+        this.imageRepository = imageRepository;
+        this.reactiveUtils = reactiveUtils;
+        this.workers = Schedulers.newBoundedElastic(workers, queueSize, "image-derivatives");
+        this.concurrency = workers;
+        this.quality = quality;
+        this.maxSourceBytes = (int) maxSourceSize.toBytes();
+        this.maxPixels = maxPixels;
+    }
+
+    public void generateInBackground(Map<Long, String> imageNamesById) {
+        generate(imageNamesById)
+                .subscribe(count -> log.info("Generated derivatives for {} of {} images", count, imageNamesById.size()),
+                        error -> log.error("Failed to generate image derivatives: {}", error.getMessage()));
+    }
+
+    public Mono<Long> generate(Map<Long, String> imageNamesById) {
+        return Flux.fromIterable(imageNamesById.entrySet())
+                .flatMap(image -> generate(image.getKey(), image.getValue())
+                        .thenReturn(true)
+                        .onErrorResume(error -> {
+                            log.warn("Failed to generate derivatives for image '{}': {}", image.getValue(), error.getMessage());
+                            return Mono.just(false);
+                        }), concurrency)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    private Mono<Void> generate(Long imageId, String imageName) {
+        String originalKey = ImageVariant.storageKey(imageName);
+        return DataBufferUtils.join(objectStore.read(originalKey), maxSourceBytes)
+                .publishOn(workers)
+                .map(this::decode)
+                .flatMapMany(original -> Flux.fromArray(ImageVariant.values())
+                        .concatMap(variant -> Mono.fromCallable(() -> encode(resize(original, variant.getMaxWidth())))
+                                .subscribeOn(workers)
+                                .flatMap(bytes -> objectStore.write(
+                                        ImageVariant.storageKey(variant.nameFor(imageName)),
+                                        MediaType.IMAGE_JPEG_VALUE,
+                                        Flux.just(new DefaultDataBufferFactory().wrap(bytes))))))
+                .then(reactiveUtils.asyncMono("image-derivatives", () ->
+                        Mono.fromCallable(() -> imageRepository.markDerivativesGenerated(imageId))))
+                .then();
+    }
+
+    private BufferedImage decode(DataBuffer buffer) {
+        try (InputStream input = buffer.asInputStream(true);
+             ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image of " + reader.getWidth(0) + "x" + reader.getHeight(0)
+                            + " exceeds the budget of " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable image", e);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        workers.dispose();
+    }
+}
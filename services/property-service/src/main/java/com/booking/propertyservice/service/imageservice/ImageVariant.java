@@ -0,0 +1,63 @@
+package com.booking.propertyservice.service.imageservice;
+
+import com.booking.commondomain.dto.property.ImageVariantsDto;
+
+import java.util.Optional;
+
+/**
+ * Resized JPEG derivatives generated for every uploaded property image. A derivative is stored next to
+ * its original, with the variant name appended to the full file name, e.g. {@code beach.png.card.jpg}.
+ */
+public enum ImageVariant {
+
+    THUMBNAIL("thumbnail", 160),
+    CARD("card", 480),
+    FULL("full", 1600);
+
+    private static final String EXTENSION = ".jpg";
+
+    private final String suffix;
+    private final int maxWidth;
+
+    ImageVariant(String suffix, int maxWidth) {
+        this.suffix = suffix;
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String nameFor(String imageName) {
+        return imageName + ending();
+    }
+
+    private String ending() {
+        return "." + suffix + EXTENSION;
+    }
+
+    public static ImageVariantsDto variantsOf(String imageName) {
+        if (imageName == null) {
+            return null;
+        }
+        return new ImageVariantsDto()
+                .setOriginal(imageName)
+                .setThumbnail(THUMBNAIL.nameFor(imageName))
+                .setCard(CARD.nameFor(imageName))
+                .setFull(FULL.nameFor(imageName));
+    }
+
+    public static String storageKey(String imageName) {
+        return imageName.replace('\\', '/');
+    }
+
+    public static Optional<String> originalKey(String derivativeKey) {
+        for (ImageVariant variant : values()) {
+            String ending = variant.ending();
+            if (derivativeKey.endsWith(ending)) {
+                return Optional.of(derivativeKey.substring(0, derivativeKey.length() - ending.length()));
+            }
+        }
+        return Optional.empty();
+    }
+}
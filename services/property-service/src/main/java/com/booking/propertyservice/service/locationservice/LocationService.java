@@ -0,0 +1,15 @@
+package com.booking.propertyservice.service.locationservice;
+
+import com.booking.commondomain.dto.property.LocationSuggestionDto;
+import reactor.core.publisher.Flux;
+
+public interface LocationService {
+
+    int MAX_SUGGESTIONS = 20;
+
+    Flux<LocationSuggestionDto> autocomplete(String prefix, int limit);
+
+    void addProperty(String country, String city);
+
+    void removeProperty(String country, String city);
+}
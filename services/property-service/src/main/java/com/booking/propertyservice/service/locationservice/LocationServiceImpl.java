@@ -0,0 +1,75 @@
+package com.booking.propertyservice.service.locationservice;
+
+import com.booking.commondomain.dto.property.LocationSuggestionDto;
+import com.booking.propertyservice.repository.CountryRepository;
+import com.booking.propertyservice.repository.PropertyRepository;
+import com.booking.propertyservice.repository.projection.LocationCount;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class LocationServiceImpl implements LocationService {
+
+    private final CountryRepository countryRepository;
+    private final PropertyRepository propertyRepository;
+    private final ReactiveUtils reactiveUtils;
+    private final LocationTrie locationTrie;
+
+    public LocationServiceImpl(CountryRepository countryRepository,
+                               PropertyRepository propertyRepository,
+                               ReactiveUtils reactiveUtils,
+                               @Value("${property-service.autocomplete.cached-suggestions:" + MAX_SUGGESTIONS + "}") int cachedSuggestions) {
+        this.countryRepository = countryRepository;
+        this.propertyRepository = propertyRepository;
+        this.reactiveUtils = reactiveUtils;
+        this.locationTrie = new LocationTrie(cachedSuggestions);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reactiveUtils.asyncMono("locations", () -> Mono.fromCallable(() -> {
+                    List<LocationCount> countries = countryRepository.countPropertiesByCountry();
+                    List<LocationCount> cities = propertyRepository.countPropertiesByCity();
+                    countries.forEach(country -> locationTrie.add(LocationSuggestionDto.Type.COUNTRY,
+                            country.getCountry(), country.getCountry(), country.getPropertyCount()));
+                    cities.forEach(city -> locationTrie.add(LocationSuggestionDto.Type.CITY,
+                            city.getCity(), city.getCountry(), city.getPropertyCount()));
+                    return countries.size() + cities.size();
+                }))
+                .subscribe(count -> log.info("Location autocomplete index loaded with {} locations", count),
+                        error -> log.error("Failed to load location autocomplete index: {}", error.getMessage()));
+    }
+
+    @Override
+    public Flux<LocationSuggestionDto> autocomplete(String prefix, int limit) {
+        log.debug("Autocompleting locations for prefix: {}", prefix);
+        return Flux.fromIterable(locationTrie.suggest(prefix, limit));
+    }
+
+    @Override
+    public void addProperty(String country, String city) {
+        updateCounts(country, city, 1);
+    }
+
+    @Override
+    public void removeProperty(String country, String city) {
+        updateCounts(country, city, -1);
+    }
+
+    private void updateCounts(String country, String city, long delta) {
+        if (country == null) {
+            return;
+        }
+        locationTrie.add(LocationSuggestionDto.Type.COUNTRY, country, country, delta);
+        locationTrie.add(LocationSuggestionDto.Type.CITY, city, country, delta);
+    }
+}
@@ -0,0 +1,153 @@
+package com.booking.propertyservice.service.locationservice;
+
+import com.booking.commondomain.dto.property.LocationSuggestionDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Case and accent insensitive prefix trie of countries and cities ranked by property count.
+ * Every node caches its best suggestions; an update only drops the caches on the path it touched.
+ */
+public class LocationTrie {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry entry) -> entry.propertyCount).reversed()
+            .thenComparing(entry -> entry.name);
+
+    private final int cachedSuggestions;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LocationTrie(int cachedSuggestions) {
+        this.cachedSuggestions = cachedSuggestions;
+    }
+
+    public List<LocationSuggestionDto> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (char character : normalize(prefix).toCharArray()) {
+                node = node.children.get(character);
+                if (node == null) {
+                    return List.of();
+                }
+            }
+            List<Entry> ranked = limit <= cachedSuggestions ? node.suggestions() : node.collect(limit);
+            return ranked.stream()
+                    .limit(limit)
+                    .map(Entry::toSuggestion)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(LocationSuggestionDto.Type type, String name, String country, long propertyCount) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String key = type + ":" + country + ":" + name;
+            List<Node> path = path(name);
+            Node last = path.get(path.size() - 1);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(type, name, country);
+                entries.put(key, entry);
+                last.entries.add(entry);
+            }
+            entry.propertyCount = Math.max(0, entry.propertyCount + propertyCount);
+            if (entry.propertyCount == 0 && type == LocationSuggestionDto.Type.CITY) {
+                entries.remove(key);
+                last.entries.remove(entry);
+            }
+            path.forEach(Node::invalidate);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Node> path(String name) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char character : normalize(name).toCharArray()) {
+            node = node.children.computeIfAbsent(character, key -> new Node());
+            path.add(node);
+        }
+        return path;
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private volatile List<Entry> suggestions;
+
+        private List<Entry> suggestions() {
+            List<Entry> cached = suggestions;
+            if (cached == null) {
+                cached = collect(cachedSuggestions);
+                suggestions = cached;
+            }
+            return cached;
+        }
+
+        private void invalidate() {
+            suggestions = null;
+        }
+
+        private List<Entry> collect(int limit) {
+            PriorityQueue<Entry> best = new PriorityQueue<>(RANKING.reversed());
+            collect(this, limit, best);
+            List<Entry> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked;
+        }
+
+        private void collect(Node node, int limit, PriorityQueue<Entry> best) {
+            for (Entry entry : node.entries) {
+                best.offer(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            node.children.values().forEach(child -> collect(child, limit, best));
+        }
+    }
+
+    private static final class Entry {
+        private final LocationSuggestionDto.Type type;
+        private final String name;
+        private final String country;
+        private long propertyCount;
+
+        private Entry(LocationSuggestionDto.Type type, String name, String country) {
+            this.type = type;
+            this.name = name;
+            this.country = country;
+        }
+
+        private LocationSuggestionDto toSuggestion() {
+            return new LocationSuggestionDto(name, type, country, propertyCount);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.booking.propertyservice.service.propertyservice;
+
+import com.booking.commondomain.dto.property.PageProperties;
+import com.booking.propertyservice.controller.request.PropertySearchCriteria;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded cache of search pages. Concurrent misses for the same criteria share one load,
+ * entries older than the refresh interval are served while a single background refresh runs, and all
+ * entries of a location are evicted when a reservation or property of that location changes.
+ */
+@Slf4j
+@Component
+public class PropertySearchCache {
+
+    private final AsyncCache<SearchKey, CachedPage> cache;
+    private final Map<SearchKey, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final Duration refreshAfter;
+
+    public PropertySearchCache(
+            @Value("${property-service.search-cache.maximum-size:10000}") long maximumSize,
+            @Value("${property-service.search-cache.ttl:60s}") Duration ttl,
+            @Value("${property-service.search-cache.refresh-after:15s}") Duration refreshAfter) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.refreshAfter = refreshAfter;
+    }
+
+    public Mono<PageProperties> get(PropertySearchCriteria criteria,
+                                    Function<PropertySearchCriteria, Mono<PageProperties>> loader) {
+        SearchKey key = SearchKey.of(criteria);
+        return Mono.defer(() -> {
+                    CompletableFuture<CachedPage> current = cache.get(key, (searchKey, executor) -> load(criteria, loader));
+                    return Mono.fromFuture(current)
+                            .doOnNext(cachedPage -> {
+                                if (cachedPage.isStale(refreshAfter)) {
+                                    refresh(key, current, criteria, loader);
+                                }
+                            });
+                })
+                .map(CachedPage::getPage);
+    }
+
+    public void invalidateLocation(String location) {
+        if (location == null) {
+            return;
+        }
+        log.debug("Evicting cached search pages for location: {}", location);
+        cache.synchronous().asMap().keySet()
+                .removeIf(key -> key.getLocation().equalsIgnoreCase(location.trim()));
+    }
+
+    /**
+     * Replaces {@code current} only if it is still the cached entry, so a refresh that started before
+     * {@link #invalidateLocation} cannot put the evicted page back.
+     */
+    private void refresh(SearchKey key, CompletableFuture<CachedPage> current, PropertySearchCriteria criteria,
+                         Function<PropertySearchCriteria, Mono<PageProperties>> loader) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        load(criteria, loader)
+                .whenComplete((cachedPage, error) -> {
+                    refreshing.remove(key);
+                    if (error == null) {
+                        cache.asMap().replace(key, current, CompletableFuture.completedFuture(cachedPage));
+                    } else {
+                        log.warn("Failed to refresh cached search page: {}", error.getMessage());
+                    }
+                });
+    }
+
+    private CompletableFuture<CachedPage> load(PropertySearchCriteria criteria,
+                                               Function<PropertySearchCriteria, Mono<PageProperties>> loader) {
+        return loader.apply(criteria)
+                .map(page -> new CachedPage(page, System.nanoTime()))
+                .toFuture();
+    }
+
+    @Data
+    private static class CachedPage {
+        private final PageProperties page;
+        private final long loadedAt;
+
+        boolean isStale(Duration refreshAfter) {
+            return System.nanoTime() - loadedAt > refreshAfter.toNanos();
+        }
+    }
+
+    @Data
+    private static class SearchKey {
+        private final String location;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+        private final int guestNumber;
+        private final int currentPage;
+        private final Long lastId;
+        private final Float lastPrice;
+
+        static SearchKey of(PropertySearchCriteria criteria) {
+            return new SearchKey(
+                    criteria.getLocation().trim(),
+                    criteria.getCheckIn(),
+                    criteria.getCheckOut(),
+                    criteria.getGuestNumber(),
+                    criteria.hasCursor() ? 0 : criteria.getCurrentPage(),
+                    criteria.hasCursor() ? criteria.getLastId() : null,
+                    criteria.hasCursor() ? criteria.getLastPrice() : null);
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 public interface PropertyService {
 
     Mono<PageProperties> searchProperties(PropertySearchCriteria criteria);
@@ -23,5 +25,7 @@ public interface PropertyService {
 
     Mono<PropertyReservationDataDto> getPropertyById(Long propertyId);
 
+    Flux<PropertyReservationDataDto> getPropertiesByIds(Set<Long> propertyIds);
+
     Mono<Void> deleteProperty(Long id);
 }
@@ -1,36 +1,43 @@
 package com.booking.propertyservice.service.propertyservice;
 
 import com.booking.bookingutils.exception.InvalidInputException;
+import com.booking.bookingutils.storage.ObjectMetadata;
+import com.booking.bookingutils.storage.ObjectStore;
 import com.booking.commondomain.dto.property.AddressDto;
+import com.booking.commondomain.dto.property.PageProperties;
 import com.booking.commondomain.dto.property.PropertyAggregate;
 import com.booking.commondomain.dto.property.PropertyDetailsDto;
 import com.booking.commondomain.dto.property.PropertyDto;
 import com.booking.commondomain.dto.user.UserDto;
+import com.booking.propertyservice.controller.request.PropertySearchCriteria;
 import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
 import com.booking.propertyservice.mapper.PropertyMapper;
 import com.booking.propertyservice.model.Property;
+import com.booking.propertyservice.repository.OutboxEventRepository;
 import com.booking.propertyservice.repository.PropertyRepository;
+import com.booking.propertyservice.repository.projection.PropertyListingView;
+import com.booking.propertyservice.repository.projection.PropertyLocation;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.imageservice.ImageVariant;
 import com.booking.propertyservice.utils.ReactiveUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
-import org.springframework.http.codec.multipart.Part;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -39,34 +46,66 @@ public class PropertyServiceHelper {
 
     private final ReservationServiceIntegration reservationServiceIntegration;
     private final PropertyRepository propertyRepository;
-    private final Storage storage;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectStore objectStore;
     private final ReactiveUtils reactiveUtils;
-    @Value("${property-service.bucket-name}")
-    private String bucketName;
+    private final AvailabilityReplica availabilityReplica;
+    @Value("${property-service.image-upload.concurrency:4}")
+    private int imageUploadConcurrency;
 
     public Mono<List<Long>> getPropertyIds(String location, LocalDate checkIn, LocalDate checkOut) {
+        if (availabilityReplica.isReady()) {
+            return Mono.fromSupplier(() -> availabilityReplica.findBookedPropertyIds(location, checkIn, checkOut));
+        }
         return reservationServiceIntegration.getPropertyIds(location, checkIn, checkOut)
                 .collectList();
     }
 
-    public List<Long> preparePropertyIds(List<Long> propertyIds) {
-        List<Long> ids = new ArrayList<>(propertyIds);
-        ids.add(0L);
-        return ids;
+    public PageProperties searchProperties(List<Long> bookedPropertyIds, PropertySearchCriteria criteria, int pageSize) {
+        boolean keyset = criteria.hasCursor();
+        String bookedIds = toJsonArray(bookedPropertyIds);
+        List<PropertyListingView> rows = propertyRepository.searchPage(
+                bookedIds,
+                criteria.getLocation(),
+                criteria.getGuestNumber(),
+                keyset,
+                keyset ? criteria.getLastPrice() : 0f,
+                keyset ? criteria.getLastId() : 0L,
+                pageSize,
+                keyset ? 0 : criteria.getCurrentPage() * pageSize);
+
+        return toPage(rows, !keyset && criteria.getCurrentPage() == 0, () ->
+                propertyRepository.countSearchMatches(bookedIds, criteria.getLocation(), criteria.getGuestNumber()));
     }
 
-    public int countTotalElements(List<Long> propertyIds, String location, int guestNumber) {
-        return propertyRepository.count(propertyIds, location, guestNumber);
+    public PageProperties findListingsByOwner(String ownerId, int currentPage, int pageSize) {
+        return toPage(propertyRepository.findListingsByOwner(ownerId, pageSize, currentPage * pageSize),
+                currentPage == 0, () -> propertyRepository.countByOwner(ownerId));
     }
 
-    public Mono<List<PropertyDto>> getProperties(List<Long> propertyIds,
-                                                 String location,
-                                                 int guestNumber,
-                                                 Pageable pageable) {
-        return Flux.fromIterable(
-                propertyRepository.searchProperties(propertyIds, location, guestNumber, pageable))
+    /**
+     * The total comes from the window count on the page rows, so a page past the end has none to read it from
+     * and falls back to a separate count. An empty first page means there are no matches at all.
+     */
+    private PageProperties toPage(List<PropertyListingView> rows, boolean firstPage, LongSupplier count) {
+        List<PropertyDto> properties = rows.stream()
                 .map(PropertyMapper::toPropertyDto)
-                .collectList();
+                .collect(Collectors.toList());
+        long totalElements;
+        if (!rows.isEmpty()) {
+            totalElements = rows.get(0).getTotalElements();
+        } else {
+            totalElements = firstPage ? 0 : count.getAsLong();
+        }
+
+        return new PageProperties((int) totalElements, properties);
+    }
+
+    private String toJsonArray(List<Long> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
     }
 
     public PropertyAggregate setPropertyAggregateFromDto(PropertyAggregate propertyAggregate,
@@ -89,6 +128,9 @@ public class PropertyServiceHelper {
                 ))
                 .setDescription(propertyDetailsDto.getDescription())
                 .setImages(propertyDetailsDto.getImages())
+                .setImageVariants(propertyDetailsDto.getImages().stream()
+                        .map(ImageVariant::variantsOf)
+                        .collect(Collectors.toSet()))
                 .setAmenities(propertyDetailsDto.getAmenities())
                 .setOwnerId(propertyDetailsDto.getOwnerId());
     }
@@ -109,7 +151,22 @@ public class PropertyServiceHelper {
     }
 
     public Mono<Property> saveProperty(Property property) {
-        return reactiveUtils.asyncMono(() -> Mono.just(propertyRepository.save(property)));
+        return reactiveUtils.asyncMono("save-property", () -> Mono.just(propertyRepository.save(property)));
+    }
+
+    /**
+     * Deletes the property and records the reservations deletion event in one transaction,
+     * the event is published later by the outbox relay.
+     */
+    public Mono<Optional<PropertyLocation>> deleteProperty(Long propertyId) {
+        return reactiveUtils.asyncMono("delete-property", () -> Mono.fromCallable(() ->
+                transactionTemplate.execute(status -> {
+                    PropertyLocation location = propertyRepository.findLocationById(propertyId);
+                    propertyRepository.deleteById(propertyId);
+                    outboxEventRepository.save(
+                            reservationServiceIntegration.deleteAllReservationsByPropertyIdEvent(propertyId));
+                    return Optional.ofNullable(location);
+                })));
     }
 
     public PropertyDetailsDto deserializePropertyDetails(String property) {
@@ -126,17 +183,15 @@ public class PropertyServiceHelper {
         return propertyDetailsDto;
     }
 
-    public void processAndUploadImages(Flux<FilePart> partFlux, PropertyDetailsDto propertyDetailsDto) {
+    public Mono<Void> uploadImages(Flux<FilePart> partFlux, PropertyDetailsDto propertyDetailsDto) {
         String imagesURL = generateImagesURL(propertyDetailsDto);
         log.debug("Generated images URL: {}", imagesURL);
 
-        partFlux.doOnNext(fp -> propertyDetailsDto.getImages().add(imagesURL + "\\" + fp.filename()))
-                .zipWith(
-                partFlux.flatMap(Part::content),
-                (a, b) -> {
-                    uploadImageToStorage(imagesURL, a, b);
-                    return Mono.empty();
-                }).then().subscribe();
+        return partFlux
+                .flatMapSequential(filePart -> uploadImageToStorage(imagesURL, filePart)
+                        .thenReturn(imagesURL + "\\" + filePart.filename()), imageUploadConcurrency)
+                .doOnNext(imageName -> propertyDetailsDto.getImages().add(imageName))
+                .then();
     }
 
     private String generateImagesURL(PropertyDetailsDto propertyDetailsDto) {
@@ -144,11 +199,12 @@ public class PropertyServiceHelper {
                 propertyDetailsDto.getOwnerId().toString(), UUID.randomUUID());
     }
 
-    private void uploadImageToStorage(String imagesURL, FilePart filePart, DataBuffer dataBuffer) {
-        final BlobId blobId = BlobId.of(bucketName, imagesURL + "/" + filePart.filename());
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
-        byte[] bytes = dataBuffer.asByteBuffer().array();
-        storage.create(blobInfo, bytes);
-        log.debug("Uploaded image '{}' to storage", filePart.filename());
+    private Mono<ObjectMetadata> uploadImageToStorage(String imagesURL, FilePart filePart) {
+        MediaType contentType = filePart.headers().getContentType();
+        return objectStore.write(imagesURL + "/" + filePart.filename(),
+                        contentType == null ? null : contentType.toString(),
+                        filePart.content())
+                .doOnNext(metadata -> log.debug("Uploaded image '{}' to storage ({} bytes)",
+                        filePart.filename(), metadata.getSize()));
     }
 }
@@ -4,16 +4,17 @@ import com.booking.commondomain.dto.property.*;
 import com.booking.commondomain.dto.user.BookingUser;
 import com.booking.bookingutils.exception.NotFoundException;
 import com.booking.propertyservice.controller.request.PropertySearchCriteria;
-import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
 import com.booking.propertyservice.integration.userservice.UserServiceIntegration;
 import com.booking.propertyservice.mapper.PropertyMapper;
-import com.booking.propertyservice.model.Property;
+import com.booking.propertyservice.model.Image;
 import com.booking.propertyservice.repository.PropertyRepository;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.imageservice.ImageDerivativeGenerator;
+import com.booking.propertyservice.service.locationservice.LocationService;
+import com.booking.propertyservice.service.referencedataservice.ReferenceDataService;
 import com.booking.propertyservice.utils.ReactiveUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,10 +32,14 @@ import java.util.stream.Collectors;
 public class PropertyServiceImpl implements PropertyService {
 
     private final PropertyRepository propertyRepository;
-    private final ReservationServiceIntegration reservationServiceIntegration;
     private final UserServiceIntegration userServiceIntegration;
     private final PropertyServiceHelper propertyServiceHelper;
     private final ReactiveUtils reactiveUtils;
+    private final AvailabilityReplica availabilityReplica;
+    private final PropertySearchCache propertySearchCache;
+    private final LocationService locationService;
+    private final ReferenceDataService referenceDataService;
+    private final ImageDerivativeGenerator imageDerivativeGenerator;
     private static final int PAGE_SIZE = 5;
 
     @Override
@@ -43,27 +49,15 @@ public class PropertyServiceImpl implements PropertyService {
                 criteria.getLocation(), criteria.getCheckIn(), criteria.getCheckOut(),
                 criteria.getGuestNumber(), criteria.getCurrentPage());
 
-        Pageable pageable = PageRequest.of(criteria.getCurrentPage(), PAGE_SIZE);
-        PageProperties result = new PageProperties();
-
-        return reactiveUtils.asyncMono(() -> propertyServiceHelper.getPropertyIds(criteria.getLocation(),
-                        criteria.getCheckIn(), criteria.getCheckOut())
-                        .flatMap(propertyIds -> {
-                            List<Long> ids = propertyServiceHelper.preparePropertyIds(propertyIds);
-                            int totalElements = propertyServiceHelper.countTotalElements(ids,
-                                    criteria.getLocation(), criteria.getGuestNumber());
-                            log.info("Found {} properties matching the search criteria.", totalElements);
-                            result.setTotalElements(totalElements);
-                            return propertyServiceHelper.getProperties(ids, criteria.getLocation(),
-                                            criteria.getGuestNumber(), pageable)
-                                    .doOnSuccess(properties -> log.info("Retrieved {} properties for page {}.",
-                                            properties.size(), criteria.getCurrentPage()));
-                        })
-                        .map(properties -> {
-                            result.setProperties(properties);
-                            return result;
-                        })
-                        .doOnSuccess(res -> log.info("Returning a page of {} properties.", result.getProperties().size())));
+        return propertySearchCache.get(criteria, this::loadSearchPage);
+    }
+
+    private Mono<PageProperties> loadSearchPage(PropertySearchCriteria criteria) {
+        return propertyServiceHelper.getPropertyIds(criteria.getLocation(), criteria.getCheckIn(), criteria.getCheckOut())
+                .flatMap(propertyIds -> reactiveUtils.asyncMono("search", () -> Mono.fromCallable(() ->
+                        propertyServiceHelper.searchProperties(propertyIds, criteria, PAGE_SIZE))))
+                .doOnSuccess(result -> log.info("Returning a page of {} properties out of {} matching the search criteria.",
+                        result.getProperties().size(), result.getTotalElements()));
     }
 
     @Override
@@ -71,39 +65,20 @@ public class PropertyServiceImpl implements PropertyService {
         UUID userId = UUID.fromString(user.getId());
         log.info("Retrieving properties for user with id: {}", userId);
 
-        Pageable pageable = PageRequest.of(currentPage, PAGE_SIZE);
-        PageProperties result = new PageProperties();
-
-        return reactiveUtils.asyncMono(() -> Mono.just(propertyRepository.count(user.getId()))
-                .map(totalElements -> {
-                    log.debug("Total number of properties found for user with id {} on page {} (page size={}): {}",
-                            userId, currentPage, PAGE_SIZE, totalElements);
-
-                    result.setTotalElements(totalElements);
-                    return totalElements;
-                })
-                .flatMapMany(el -> Flux.fromIterable(propertyRepository.findByOwner(user.getId(), pageable)
-                        .stream()
-                        .map(PropertyMapper::toPropertyDto)
-                        .collect(Collectors.toList())))
-                .collectList()
-                .map(data -> {
-                    log.debug("Returning {} properties for user with id {} on page {} (page size={})",
-                            data.size(), userId, currentPage, PAGE_SIZE);
-
-                    result.setProperties(data);
-                    return result;
-                }));
+        return reactiveUtils.asyncMono("my-properties", () -> Mono.fromCallable(() ->
+                        propertyServiceHelper.findListingsByOwner(user.getId(), currentPage, PAGE_SIZE)))
+                .doOnSuccess(result -> log.debug("Returning {} properties out of {} for user with id {} on page {} (page size={})",
+                        result.getProperties().size(), result.getTotalElements(), userId, currentPage, PAGE_SIZE));
     }
 
     @Override
     public Mono<PropertyAggregate> getProperty(Long propertyId) {
         log.info("Getting property by id: {}", propertyId);
         PropertyAggregate propertyAggregate = new PropertyAggregate();
-        return reactiveUtils.asyncMono(() -> Mono.just(propertyRepository.findById(propertyId)
+        return reactiveUtils.asyncMono("getProperty", () -> Mono.fromCallable(() -> propertyRepository.findById(propertyId)
+                        .map(PropertyMapper::toPropertyDetailsDto)
                         .orElseThrow(() ->
-                                new NotFoundException(String.format("Property with id %d not found ", propertyId))))
-                .map(PropertyMapper::toPropertyDetailsDto)
+                                new NotFoundException(String.format("Property with id %d not found ", propertyId)))))
                 .map(propertyDetailsDto ->
                         propertyServiceHelper.setPropertyAggregateFromDto(propertyAggregate, propertyDetailsDto))
                 .flatMap(property -> userServiceIntegration.getUserById(property.getOwnerId()))
@@ -113,8 +88,7 @@ public class PropertyServiceImpl implements PropertyService {
                     return propertyAggregate;
                 })
                 .doOnError(throwable ->
-                        log.error("Failed to get property by id: {}, error: {}", propertyId, throwable.getMessage()))
-        );
+                        log.error("Failed to get property by id: {}, error: {}", propertyId, throwable.getMessage()));
     }
 
     @Override
@@ -123,11 +97,17 @@ public class PropertyServiceImpl implements PropertyService {
 
         log.info("Creating new property for owner: {}", propertyDetailsDto.getOwnerId());
 
-        propertyServiceHelper.processAndUploadImages(filePartFlux, propertyDetailsDto);
-        Property property = propertyServiceHelper.mapPropertyDetailsToProperty(propertyDetailsDto);
-
-        return propertyServiceHelper.saveProperty(property)
-                .doOnSuccess(p -> log.info("New property created successfully. Property ID: {}", p.getId()))
+        return propertyServiceHelper.uploadImages(filePartFlux, propertyDetailsDto)
+                .then(Mono.defer(() -> propertyServiceHelper.saveProperty(
+                        propertyServiceHelper.mapPropertyDetailsToProperty(propertyDetailsDto))))
+                .doOnSuccess(p -> {
+                    propertySearchCache.invalidateLocation(propertyDetailsDto.getCountry().getName());
+                    locationService.addProperty(propertyDetailsDto.getCountry().getName(), propertyDetailsDto.getCity());
+                    referenceDataService.registerCountry(propertyDetailsDto.getCountry());
+                    imageDerivativeGenerator.generateInBackground(p.getImages().stream()
+                            .collect(Collectors.toMap(Image::getId, Image::getName)));
+                    log.info("New property created successfully. Property ID: {}", p.getId());
+                })
                 .then();
     }
 
@@ -135,13 +115,16 @@ public class PropertyServiceImpl implements PropertyService {
     public Mono<Void> deleteProperty(Long id) {
         log.info("Deleting property with id: {}", id);
 
-        propertyRepository.deleteById(id);
-        log.info("Property with id {} deleted successfully", id);
-
-        reservationServiceIntegration.deleteAllReservationsByPropertyId(id);
-        log.info("All reservations for property with id {} deleted successfully", id);
-
-        return Mono.empty();
+        return propertyServiceHelper.deleteProperty(id)
+                .doOnNext(location -> {
+                    availabilityReplica.removeProperty(id);
+                    location.ifPresent(propertyLocation -> {
+                        propertySearchCache.invalidateLocation(propertyLocation.getCountry());
+                        locationService.removeProperty(propertyLocation.getCountry(), propertyLocation.getCity());
+                    });
+                    log.info("Property with id {} deleted successfully", id);
+                })
+                .then();
     }
 
 
@@ -149,11 +132,24 @@ public class PropertyServiceImpl implements PropertyService {
     public Mono<PropertyReservationDataDto> getPropertyById(Long propertyId) {
         log.info("Retrieving property with ID: {}", propertyId);
 
-        return reactiveUtils.asyncMono(() -> Mono.just(propertyRepository.getPropertyById(propertyId))
-                        .map(PropertyMapper::toPropertyReservationDataDto))
-                        .doOnSuccess(property ->
-                                log.info("Property with ID {} successfully retrieved: {}", propertyId, property))
-                        .doOnError(error ->
-                                log.error("Failed to retrieve property with ID {}: {}", propertyId, error.getMessage()));
+        return reactiveUtils.asyncMono("property-reservation-data", () -> Mono.fromCallable(() ->
+                        propertyRepository.findReservationDataByIds(List.of(propertyId)).stream()
+                                .findFirst()
+                                .map(PropertyMapper::toPropertyReservationDataDto)
+                                .orElseThrow(() ->
+                                        new NotFoundException(String.format("Property with id %d not found ", propertyId)))))
+                .doOnSuccess(property ->
+                        log.info("Property with ID {} successfully retrieved: {}", propertyId, property))
+                .doOnError(error ->
+                        log.error("Failed to retrieve property with ID {}: {}", propertyId, error.getMessage()));
+    }
+
+    @Override
+    public Flux<PropertyReservationDataDto> getPropertiesByIds(Set<Long> propertyIds) {
+        log.info("Retrieving reservation data for {} properties", propertyIds.size());
+
+        return reactiveUtils.asyncFlux("property-reservation-data", () ->
+                Flux.fromIterable(propertyRepository.findReservationDataByIds(propertyIds))
+                        .map(PropertyMapper::toPropertyReservationDataDto));
     }
 }
@@ -0,0 +1,71 @@
+package com.booking.propertyservice.service.referencedataservice;
+
+import com.booking.commondomain.dto.property.ReferenceDataDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable reference-data snapshot, serialized once and kept both as identity and gzip encoded bytes.
+ * The version is a digest of the serialized content, so it only changes when the data does.
+ */
+@Getter
+public class ReferenceDataBundle {
+
+    private final ReferenceDataDto data;
+    private final String version;
+    private final String etag;
+    private final String gzipEtag;
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private ReferenceDataBundle(ReferenceDataDto data, byte[] identity, byte[] gzip) {
+        this.data = data;
+        this.version = data.getVersion();
+        this.etag = "\"" + version + "\"";
+        this.gzipEtag = "\"" + version + "-gzip\"";
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    public static ReferenceDataBundle of(ReferenceDataDto data, ObjectMapper objectMapper) {
+        try {
+            data.setVersion(null);
+            data.setVersion(digest(objectMapper.writeValueAsBytes(data)));
+            byte[] identity = objectMapper.writeValueAsBytes(data);
+            return new ReferenceDataBundle(data, identity, gzip(identity));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize reference data", e);
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress reference data", e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,11 @@
+package com.booking.propertyservice.service.referencedataservice;
+
+import com.booking.commondomain.dto.property.CountryDto;
+import reactor.core.publisher.Mono;
+
+public interface ReferenceDataService {
+
+    Mono<ReferenceDataBundle> getBundle();
+
+    void registerCountry(CountryDto country);
+}
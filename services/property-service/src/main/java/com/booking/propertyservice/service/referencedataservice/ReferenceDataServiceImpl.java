@@ -0,0 +1,132 @@
+package com.booking.propertyservice.service.referencedataservice;
+
+import com.booking.commondomain.dto.property.AmenityDto;
+import com.booking.commondomain.dto.property.CountryDto;
+import com.booking.commondomain.dto.property.GuestSpaceDto;
+import com.booking.commondomain.dto.property.PropertyTypeDto;
+import com.booking.commondomain.dto.property.ReferenceDataDto;
+import com.booking.propertyservice.repository.AmenityRepository;
+import com.booking.propertyservice.repository.CountryRepository;
+import com.booking.propertyservice.repository.GuestSpaceRepository;
+import com.booking.propertyservice.repository.PropertyTypeRepository;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the reference data as one versioned bundle. Rebuilds run one at a time, and a rebuild requested while
+ * another is running is done once that one finishes, so an older snapshot never replaces a newer one. Every
+ * instance also rebuilds on {@code refresh-interval}, so instances converge on the same version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final CountryRepository countryRepository;
+    private final PropertyTypeRepository propertyTypeRepository;
+    private final GuestSpaceRepository guestSpaceRepository;
+    private final AmenityRepository amenityRepository;
+    private final ObjectMapper objectMapper;
+    private final ReactiveUtils reactiveUtils;
+    private final AtomicReference<ReferenceDataBundle> bundle = new AtomicReference<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        getBundle().subscribe(
+                loaded -> log.info("Reference data bundle loaded, version: {}", loaded.getVersion()),
+                error -> log.error("Failed to load reference data bundle: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<ReferenceDataBundle> getBundle() {
+        ReferenceDataBundle current = bundle.get();
+        if (current != null) {
+            return Mono.just(current);
+        }
+        return build()
+                .map(built -> bundle.compareAndSet(null, built) ? built : bundle.get());
+    }
+
+    @Override
+    public void registerCountry(CountryDto country) {
+        ReferenceDataBundle current = bundle.get();
+        if (current == null || current.getData().getCountries().stream()
+                .anyMatch(existing -> existing.getId().equals(country.getId()))) {
+            return;
+        }
+        log.info("Rebuilding reference data bundle for new country: {}", country.getName());
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${property-service.reference-data.refresh-interval:PT5M}")
+    public void refresh() {
+        if (bundle.get() != null) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        rebuildRequested.set(true);
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildRequested.set(false);
+        build()
+                .doFinally(signal -> {
+                    rebuilding.set(false);
+                    if (rebuildRequested.get()) {
+                        rebuild();
+                    }
+                })
+                .subscribe(this::replace,
+                        error -> log.error("Failed to rebuild reference data bundle: {}", error.getMessage()));
+    }
+
+    private void replace(ReferenceDataBundle rebuilt) {
+        ReferenceDataBundle previous = bundle.getAndSet(rebuilt);
+        if (previous == null || !previous.getVersion().equals(rebuilt.getVersion())) {
+            log.info("Reference data bundle rebuilt, version: {}", rebuilt.getVersion());
+        }
+    }
+
+    private Mono<ReferenceDataBundle> build() {
+        return reactiveUtils.asyncMono("reference-data", () -> Mono.fromCallable(this::loadBundle));
+    }
+
+    private ReferenceDataBundle loadBundle() {
+        List<CountryDto> countries = countryRepository.findAll().stream()
+                .map(country -> new CountryDto(country.getId(), country.getName()))
+                .sorted(Comparator.comparing(CountryDto::getName))
+                .collect(Collectors.toList());
+        List<PropertyTypeDto> propertyTypes = propertyTypeRepository.findAll().stream()
+                .map(propertyType -> new PropertyTypeDto().setId(propertyType.getId()).setName(propertyType.getName()))
+                .sorted(Comparator.comparing(PropertyTypeDto::getId))
+                .collect(Collectors.toList());
+        List<GuestSpaceDto> guestSpaces = guestSpaceRepository.findAll().stream()
+                .map(guestSpace -> new GuestSpaceDto().setId(guestSpace.getId()).setName(guestSpace.getName()))
+                .sorted(Comparator.comparing(GuestSpaceDto::getId))
+                .collect(Collectors.toList());
+        List<AmenityDto> amenities = amenityRepository.findAll().stream()
+                .map(amenity -> new AmenityDto(amenity.getId(), amenity.getName()))
+                .sorted(Comparator.comparing(AmenityDto::getId))
+                .collect(Collectors.toList());
+
+        return ReferenceDataBundle.of(
+                new ReferenceDataDto(null, countries, propertyTypes, guestSpaces, amenities), objectMapper);
+    }
+}
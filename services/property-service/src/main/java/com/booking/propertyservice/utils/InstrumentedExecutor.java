@@ -0,0 +1,109 @@
+package com.booking.propertyservice.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor decorator that times how long blocking work waits before it starts and how long it runs,
+ * and tracks active, queued and rejected tasks per calling operation.
+ */
+public class InstrumentedExecutor {
+
+    private static final String PREFIX = "jdbc.executor";
+
+    private final Executor delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public InstrumentedExecutor(Executor delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        if (delegate instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) delegate;
+            Gauge.builder(PREFIX + ".pool.active", pool, ThreadPoolExecutor::getActiveCount)
+                    .description("Threads running blocking work")
+                    .register(meterRegistry);
+            Gauge.builder(PREFIX + ".pool.queue", pool, executor -> executor.getQueue().size())
+                    .description("Tasks waiting for a thread")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Executor forOperation(String operation) {
+        return operations.computeIfAbsent(operation, Operation::new);
+    }
+
+    public Map<String, Operation> getOperations() {
+        return operations;
+    }
+
+    @Getter
+    public final class Operation implements Executor {
+
+        private final String name;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Timer executionTimer;
+        private final Counter rejected;
+
+        private Operation(String name) {
+            this.name = name;
+            this.waitTimer = Timer.builder(PREFIX + ".wait")
+                    .description("Time blocking work spends queued before it starts")
+                    .tag("operation", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.executionTimer = Timer.builder(PREFIX + ".execution")
+                    .description("Time blocking work spends running")
+                    .tag("operation", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(PREFIX + ".rejected")
+                    .description("Blocking work rejected by the executor")
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            Gauge.builder(PREFIX + ".active", active, AtomicInteger::get)
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            Gauge.builder(PREFIX + ".queued", queued, AtomicInteger::get)
+                    .tag("operation", name)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            long submittedAt = System.nanoTime();
+            queued.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    long startedAt = System.nanoTime();
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                        executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw e;
+            }
+        }
+    }
+}
@@ -5,20 +5,39 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
 public class ReactiveUtils {
 
-    private final Scheduler scheduler;
+    private static final String DEFAULT_OPERATION = "other";
+
+    private final InstrumentedExecutor jdbcExecutor;
+    private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>();
 
     public <T> Flux<T> asyncFlux(Supplier<Flux<T>> publisherSupplier) {
-        return Flux.defer(publisherSupplier).subscribeOn(scheduler);
+        return asyncFlux(DEFAULT_OPERATION, publisherSupplier);
     }
 
     public <T> Mono<T> asyncMono(Supplier<Mono<T>> publisherSupplier) {
-        return Mono.defer(publisherSupplier).subscribeOn(scheduler);
+        return asyncMono(DEFAULT_OPERATION, publisherSupplier);
+    }
+
+    public <T> Flux<T> asyncFlux(String operation, Supplier<Flux<T>> publisherSupplier) {
+        return Flux.defer(publisherSupplier).subscribeOn(scheduler(operation));
+    }
+
+    public <T> Mono<T> asyncMono(String operation, Supplier<Mono<T>> publisherSupplier) {
+        return Mono.defer(publisherSupplier).subscribeOn(scheduler(operation));
+    }
+
+    private Scheduler scheduler(String operation) {
+        return schedulers.computeIfAbsent(operation,
+                name -> Schedulers.fromExecutor(jdbcExecutor.forOperation(name)));
     }
 }
@@ -0,0 +1,47 @@
+package com.booking.propertyservice.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Virtual thread support that still compiles on the Java 11 baseline: the per-task executor is looked up
+ * reflectively and is only available when the service runs on Java 21 or newer.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static Optional<ExecutorService> newPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads are not available on Java {}", Runtime.version());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Runs every task on its own virtual thread, admitting at most {@code permits} of them into the
+     * blocking section at once. Waiting for a permit parks a virtual thread instead of queueing the task.
+     */
+    public static Executor bounded(ExecutorService virtualThreads, int permits) {
+        Semaphore semaphore = new Semaphore(permits, true);
+        return task -> virtualThreads.execute(() -> {
+            semaphore.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                semaphore.release();
+            }
+        });
+    }
+}
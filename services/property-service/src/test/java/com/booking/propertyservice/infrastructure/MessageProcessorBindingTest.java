@@ -0,0 +1,100 @@
+package com.booking.propertyservice.infrastructure;
+
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.propertyservice.PropertySearchCache;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Sends reservation events in the JSON shape reservation-service publishes through the in-memory test binder
+ * and checks that they reach the availability replica as typed reservations.
+ */
+@SpringBootTest(classes = MessageProcessorBindingTest.StreamConfiguration.class, properties = {
+        "spring.cloud.stream.defaultBinder=integration",
+        "spring.sleuth.enabled=false",
+        "spring.cloud.gcp.core.enabled=false",
+        "spring.cloud.gcp.storage.enabled=false",
+        "property-service.availability-replica.retry.initial-backoff=10ms"
+})
+class MessageProcessorBindingTest {
+
+    private static final String DESTINATION = "properties";
+
+    @Autowired
+    private InputDestination input;
+
+    @MockBean
+    private AvailabilityReplica availabilityReplica;
+
+    @MockBean
+    private PropertySearchCache propertySearchCache;
+
+    @Test
+    void appliesJsonReservationEvents() {
+        input.send(event("CREATE"), DESTINATION);
+
+        ArgumentCaptor<ReservationDto> reservation = ArgumentCaptor.forClass(ReservationDto.class);
+        verify(availabilityReplica, timeout(5_000)).add(reservation.capture());
+        verify(propertySearchCache, timeout(5_000)).invalidateLocation("Greece");
+        assertThat(reservation.getValue().getId()).isEqualTo("r-1");
+        assertThat(reservation.getValue().getPropertyId()).isEqualTo(42L);
+        assertThat(reservation.getValue().getCheckIn()).isEqualTo(LocalDate.of(2024, 7, 1));
+        assertThat(reservation.getValue().getCheckOut()).isEqualTo(LocalDate.of(2024, 7, 8));
+        assertThat(reservation.getValue().getPrice()).isEqualByComparingTo(new BigDecimal("350.00"));
+
+        input.send(event("DELETE"), DESTINATION);
+
+        verify(availabilityReplica, timeout(5_000)).remove(reservation.capture());
+        assertThat(reservation.getValue().getPropertyId()).isEqualTo(42L);
+    }
+
+    @Test
+    void retriesEventThatFailsOnce() {
+        doThrow(new IllegalStateException("replica busy")).doNothing().when(availabilityReplica).add(any());
+
+        input.send(event("CREATE"), DESTINATION);
+
+        verify(availabilityReplica, timeout(5_000).times(2)).add(any());
+        verify(propertySearchCache, timeout(5_000)).invalidateLocation("Greece");
+    }
+
+    private Message<byte[]> event(String type) {
+        String json = "{\"eventType\":\"" + type + "\",\"key\":\"r-1\",\"data\":{\"id\":\"r-1\"," +
+                "\"checkIn\":\"2024-07-01\",\"checkOut\":\"2024-07-08\",\"propertyId\":42,\"location\":\"Greece\"," +
+                "\"price\":350.00},\"eventCreatedAt\":\"2024-06-01T12:00:00\"}";
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .build();
+    }
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @Import({TestChannelBinderConfiguration.class, MessageProcessor.class})
+    static class StreamConfiguration {
+    }
+}
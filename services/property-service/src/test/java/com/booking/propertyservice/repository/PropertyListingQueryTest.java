@@ -0,0 +1,143 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.commondomain.dto.property.PageProperties;
+import com.booking.commondomain.dto.property.PropertyDto;
+import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
+import com.booking.propertyservice.mapper.PropertyMapper;
+import com.booking.propertyservice.model.Property;
+import com.booking.propertyservice.repository.projection.PropertyListingView;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.propertyservice.PropertyServiceHelper;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements behind a listing page. The owner listing is used because it shares the
+ * projection, the aggregated columns and the mapper with the search page, while the search page itself
+ * relies on MySQL's {@code JSON_TABLE}, which H2 does not provide.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listings;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.platform=h2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PropertyServiceHelper.class)
+class PropertyListingQueryTest {
+
+    private static final String OWNER = "0b7e1f38-5c1a-4c3e-9a55-3f4f1d2c6a11";
+    private static final int PROPERTIES = 12;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PropertyServiceHelper propertyServiceHelper;
+
+    @MockBean
+    private ReservationServiceIntegration reservationServiceIntegration;
+
+    @MockBean
+    private ObjectStore objectStore;
+
+    @MockBean
+    private ReactiveUtils reactiveUtils;
+
+    @MockBean
+    private AvailabilityReplica availabilityReplica;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO countries (id, name) VALUES ('GR', 'Greece')");
+        jdbcTemplate.update("INSERT INTO property_types (id, name) VALUES (1, 'Apartment')");
+        jdbcTemplate.update("INSERT INTO guest_spaces (id, name) VALUES (1, 'Entire place')");
+        jdbcTemplate.update("INSERT INTO amenities (id, name) VALUES (1, 'Wifi'), (2, 'Kitchen'), (3, 'Pool')");
+        for (long id = 1; id <= PROPERTIES; id++) {
+            jdbcTemplate.update("INSERT INTO addresses (id, city, country_id, postcode, street_name, street_number)" +
+                    " VALUES (?, 'Chania', 'GR', '73100', 'Halidon', ?)", id, id);
+            jdbcTemplate.update("INSERT INTO properties (id, property_type_id, guest_space_id, max_guest_number," +
+                    " bedroom_number, bath_number, title, description, price_per_night, owner, address_id)" +
+                    " VALUES (?, 1, 1, 4, 2, 1, ?, 'Sea view', ?, ?, ?)", id, "Property " + id, 50f + id, OWNER, id);
+            jdbcTemplate.update("INSERT INTO images (id, name, property_id) VALUES (?, ?, ?), (?, ?, ?)",
+                    id * 2, "image-" + id + "-a.jpg", id, id * 2 + 1, "image-" + id + "-b.jpg", id);
+            jdbcTemplate.update("INSERT INTO property_amenities (property_id, amenity_id) VALUES (?, 1), (?, 2), (?, 3)",
+                    id, id, id);
+        }
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingPageIsASingleStatement() {
+        List<PropertyListingView> rows = propertyRepository.findListingsByOwner(OWNER, PAGE_SIZE, 0);
+        List<PropertyDto> page = rows.stream().map(PropertyMapper::toPropertyDto).collect(Collectors.toList());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(rows.get(0).getTotalElements()).isEqualTo(PROPERTIES);
+        PropertyDto first = page.get(0);
+        assertThat(first.getTitle()).isEqualTo("Property 1");
+        assertThat(first.getPropertyType()).isEqualTo("Apartment");
+        assertThat(first.getCountry()).isEqualTo("Greece");
+        assertThat(first.getImage()).isEqualTo("image-1-a.jpg");
+        assertThat(first.getAmenities()).isEqualTo(Set.of("Wifi", "Kitchen", "Pool"));
+    }
+
+    @Test
+    void pagePastTheEndStillReportsTheTotal() {
+        PageProperties lastPage = propertyServiceHelper.findListingsByOwner(OWNER, 1, PAGE_SIZE);
+        PageProperties pastTheEnd = propertyServiceHelper.findListingsByOwner(OWNER, 2, PAGE_SIZE);
+        PageProperties otherOwner = propertyServiceHelper.findListingsByOwner("someone-else", 0, PAGE_SIZE);
+
+        assertThat(lastPage.getProperties()).hasSize(PROPERTIES - PAGE_SIZE);
+        assertThat(lastPage.getTotalElements()).isEqualTo(PROPERTIES);
+        assertThat(pastTheEnd.getProperties()).isEmpty();
+        assertThat(pastTheEnd.getTotalElements()).isEqualTo(PROPERTIES);
+        assertThat(otherOwner.getTotalElements()).isZero();
+    }
+
+    @Test
+    void entityPageStillIssuesAStatementPerProperty() {
+        List<Property> page = propertyRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent();
+        page.forEach(property -> property.getAmenities().size());
+
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(PAGE_SIZE);
+    }
+}
@@ -0,0 +1,171 @@
+package com.booking.propertyservice.repository;
+
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.commondomain.dto.property.PageProperties;
+import com.booking.commondomain.dto.property.PropertyDto;
+import com.booking.propertyservice.controller.request.PropertySearchCriteria;
+import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
+import com.booking.propertyservice.service.availabilityservice.AvailabilityReplica;
+import com.booking.propertyservice.service.propertyservice.PropertyServiceHelper;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the search page against MySQL, since it relies on {@code JSON_TABLE}, row value comparison and
+ * window counts. Skipped when no Docker daemon is available.
+ * <p>
+ * Greece holds properties 1 to 8 for four guests, priced so that three share the lowest price; property 9
+ * is in Italy and property 10 only sleeps two, so neither ever matches.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PropertyServiceHelper.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PropertySearchQueryTest {
+
+    private static final float[] GREECE_PRICES = {80f, 60f, 60f, 90f, 70f, 60f, 100f, 75f};
+    private static final int PAGE_SIZE = 3;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private PropertyServiceHelper propertyServiceHelper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ReservationServiceIntegration reservationServiceIntegration;
+
+    @MockBean
+    private ObjectStore objectStore;
+
+    @MockBean
+    private ReactiveUtils reactiveUtils;
+
+    @MockBean
+    private AvailabilityReplica availabilityReplica;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO countries (id, name) VALUES ('GR', 'Greece'), ('IT', 'Italy')");
+        jdbcTemplate.update("INSERT INTO property_types (id, name) VALUES (1, 'Apartment')");
+        jdbcTemplate.update("INSERT INTO guest_spaces (id, name) VALUES (1, 'Entire place')");
+        for (int i = 0; i < GREECE_PRICES.length; i++) {
+            insertProperty(i + 1, "GR", 4, GREECE_PRICES[i]);
+        }
+        insertProperty(9, "IT", 4, 10f);
+        insertProperty(10, "GR", 2, 10f);
+    }
+
+    @Test
+    void offsetPagesAreOrderedByPriceThenId() {
+        PageProperties first = search(List.of(), criteria(0));
+        PageProperties second = search(List.of(), criteria(1));
+        PageProperties last = search(List.of(), criteria(2));
+
+        assertThat(ids(first)).containsExactly(2L, 3L, 6L);
+        assertThat(ids(second)).containsExactly(5L, 8L, 1L);
+        assertThat(ids(last)).containsExactly(4L, 7L);
+        assertThat(List.of(first.getTotalElements(), second.getTotalElements(), last.getTotalElements()))
+                .containsOnly(8);
+    }
+
+    @Test
+    void keysetPagesContinueAfterTheCursorWithinEqualPrices() {
+        PageProperties afterTie = search(List.of(), cursor(60f, 3L));
+        PageProperties afterFractionlessPrice = search(List.of(), cursor(75f, 8L));
+
+        assertThat(ids(afterTie)).containsExactly(6L, 5L, 8L);
+        assertThat(ids(afterFractionlessPrice)).containsExactly(1L, 4L, 7L);
+        assertThat(afterTie.getTotalElements()).isEqualTo(8);
+    }
+
+    @Test
+    void bookedPropertiesAreExcluded() {
+        PageProperties page = propertyServiceHelper.searchProperties(List.of(3L, 5L, 9L), criteria(0), 10);
+
+        assertThat(ids(page)).containsExactly(2L, 6L, 8L, 1L, 4L, 7L);
+        assertThat(page.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    void pagesPastTheEndStillReportTheTotal() {
+        PageProperties offsetPage = search(List.of(3L), criteria(5));
+        PageProperties keysetPage = search(List.of(3L), cursor(100f, 7L));
+
+        assertThat(offsetPage.getProperties()).isEmpty();
+        assertThat(offsetPage.getTotalElements()).isEqualTo(7);
+        assertThat(keysetPage.getProperties()).isEmpty();
+        assertThat(keysetPage.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void emptyFirstPageReportsNoMatches() {
+        PropertySearchCriteria criteria = criteria(0);
+        criteria.setLocation("Spain");
+
+        PageProperties page = search(List.of(), criteria);
+
+        assertThat(page.getProperties()).isEmpty();
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    private PageProperties search(List<Long> bookedPropertyIds, PropertySearchCriteria criteria) {
+        return propertyServiceHelper.searchProperties(bookedPropertyIds, criteria, PAGE_SIZE);
+    }
+
+    private PropertySearchCriteria criteria(int currentPage) {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        criteria.setLocation("Greece");
+        criteria.setGuestNumber(3);
+        criteria.setCurrentPage(currentPage);
+        return criteria;
+    }
+
+    private PropertySearchCriteria cursor(float lastPrice, long lastId) {
+        PropertySearchCriteria criteria = criteria(0);
+        criteria.setLastPrice(lastPrice);
+        criteria.setLastId(lastId);
+        return criteria;
+    }
+
+    private List<Long> ids(PageProperties page) {
+        return page.getProperties().stream().map(PropertyDto::getId).collect(Collectors.toList());
+    }
+
+    private void insertProperty(long id, String countryId, int maxGuestNumber, float pricePerNight) {
+        jdbcTemplate.update("INSERT INTO addresses (id, city, country_id, postcode, street_name, street_number)" +
+                " VALUES (?, 'City', ?, '00000', 'Main', ?)", id, countryId, id);
+        jdbcTemplate.update("INSERT INTO properties (id, property_type_id, guest_space_id, max_guest_number," +
+                        " bedroom_number, bath_number, title, description, price_per_night, owner, address_id)" +
+                        " VALUES (?, 1, 1, ?, 2, 1, ?, 'Description', ?, 'owner', ?)",
+                id, maxGuestNumber, "Property " + id, pricePerNight, id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.booking.propertyservice.service.availabilityservice;
+
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.propertyservice.integration.reservationservice.ReservationServiceIntegration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityReplicaTest {
+
+    private static final String LOCATION = "Greece";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final ReservationServiceIntegration reservationServiceIntegration = mock(ReservationServiceIntegration.class);
+    private final Sinks.Many<ReservationDto> activeReservations = Sinks.many().unicast().onBackpressureBuffer();
+    private final AvailabilityReplica replica = new AvailabilityReplica(reservationServiceIntegration);
+
+    @BeforeEach
+    void setUp() {
+        when(reservationServiceIntegration.getActiveReservations()).thenReturn(activeReservations.asFlux());
+        replica.warmUp();
+    }
+
+    @Test
+    void deletionDuringWarmUpIsNotUndoneBySeed() {
+        ReservationDto cancelled = reservation("r-1", 1L);
+
+        replica.remove(cancelled);
+        seed(cancelled, reservation("r-2", 2L));
+
+        assertThat(replica.isReady()).isTrue();
+        assertThat(replica.findBookedPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5))).containsExactly(2L);
+    }
+
+    @Test
+    void propertyDeletionDuringWarmUpIsNotUndoneBySeed() {
+        replica.removeProperty(1L);
+        seed(reservation("r-1", 1L), reservation("r-2", 2L));
+
+        assertThat(replica.findBookedPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5))).containsExactly(2L);
+    }
+
+    @Test
+    void tombstonesAreDroppedOnceWarm() {
+        ReservationDto reservation = reservation("r-1", 1L);
+        replica.remove(reservation);
+        seed();
+
+        replica.add(reservation);
+
+        assertThat(replica.findBookedPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5))).containsExactly(1L);
+    }
+
+    private void seed(ReservationDto... reservations) {
+        for (ReservationDto reservation : reservations) {
+            activeReservations.tryEmitNext(reservation);
+        }
+        activeReservations.tryEmitComplete();
+    }
+
+    private ReservationDto reservation(String id, Long propertyId) {
+        return new ReservationDto()
+                .setId(id)
+                .setPropertyId(propertyId)
+                .setLocation(LOCATION)
+                .setCheckIn(TODAY.plusDays(3))
+                .setCheckOut(TODAY.plusDays(6));
+    }
+}
@@ -0,0 +1,93 @@
+package com.booking.propertyservice.service.referencedataservice;
+
+import com.booking.commondomain.dto.property.CountryDto;
+import com.booking.propertyservice.model.Country;
+import com.booking.propertyservice.repository.AmenityRepository;
+import com.booking.propertyservice.repository.CountryRepository;
+import com.booking.propertyservice.repository.GuestSpaceRepository;
+import com.booking.propertyservice.repository.PropertyTypeRepository;
+import com.booking.propertyservice.utils.ReactiveUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataServiceImplTest {
+
+    private final CountryRepository countryRepository = mock(CountryRepository.class);
+    private final ReactiveUtils reactiveUtils = mock(ReactiveUtils.class);
+    private final List<Sinks.Empty<Void>> pendingBuilds = new ArrayList<>();
+    private final List<Country> countries = new ArrayList<>(List.of(new Country("GR", "Greece")));
+    private final ReferenceDataServiceImpl referenceDataService = new ReferenceDataServiceImpl(countryRepository,
+            mock(PropertyTypeRepository.class), mock(GuestSpaceRepository.class), mock(AmenityRepository.class),
+            new ObjectMapper(), reactiveUtils);
+
+    @BeforeEach
+    void setUp() {
+        when(countryRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(countries));
+        when(reactiveUtils.asyncMono(eq("reference-data"), any())).thenAnswer(invocation -> {
+            Supplier<Mono<ReferenceDataBundle>> build = invocation.getArgument(1);
+            ReferenceDataBundle snapshot = build.get().block();
+            Sinks.Empty<Void> finished = Sinks.empty();
+            pendingBuilds.add(finished);
+            return finished.asMono().thenReturn(snapshot);
+        });
+    }
+
+    @Test
+    void countryRegisteredDuringRebuildIsPickedUpByTheNextOne() {
+        referenceDataService.load();
+        finishBuild(0);
+
+        countries.add(new Country("IT", "Italy"));
+        referenceDataService.registerCountry(new CountryDto("IT", "Italy"));
+        countries.add(new Country("ES", "Spain"));
+        referenceDataService.registerCountry(new CountryDto("ES", "Spain"));
+
+        assertThat(pendingBuilds).hasSize(2);
+
+        finishBuild(1);
+        assertThat(countryIds()).containsExactly("GR", "IT");
+        assertThat(pendingBuilds).hasSize(3);
+
+        finishBuild(2);
+        assertThat(countryIds()).containsExactly("ES", "GR", "IT");
+    }
+
+    @Test
+    void refreshPicksUpChangesFromOtherInstances() {
+        referenceDataService.load();
+        finishBuild(0);
+        String version = referenceDataService.getBundle().block().getVersion();
+
+        countries.add(new Country("IT", "Italy"));
+        referenceDataService.refresh();
+        finishBuild(1);
+
+        assertThat(countryIds()).containsExactly("GR", "IT");
+        assertThat(referenceDataService.getBundle().block().getVersion()).isNotEqualTo(version);
+    }
+
+    private void finishBuild(int build) {
+        pendingBuilds.get(build).tryEmitEmpty();
+    }
+
+    private List<String> countryIds() {
+        return referenceDataService.getBundle().block().getData().getCountries().stream()
+                .map(CountryDto::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
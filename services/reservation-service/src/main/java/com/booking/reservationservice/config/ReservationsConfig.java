@@ -1,5 +1,9 @@
 package com.booking.reservationservice.config;
 
+import com.booking.commondomain.event.EventBinaryCodec;
+import com.booking.commondomain.event.EventMessageConverter;
+import com.booking.reservationservice.integration.cache.NearCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NamingConventions;
@@ -7,8 +11,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 @Configuration
 @Log4j2
 public class ReservationsConfig {
@@ -26,6 +33,29 @@ public class ReservationsConfig {
         return modelMapper;
     }
 
+    @Bean
+    public EventBinaryCodec eventBinaryCodec(ObjectMapper objectMapper) {
+        return new EventBinaryCodec(objectMapper);
+    }
+
+    @Bean
+    public MessageConverter eventMessageConverter(EventBinaryCodec eventBinaryCodec) {
+        return new EventMessageConverter(eventBinaryCodec);
+    }
+
+    @Bean
+    public NearCache.Settings nearCacheSettings(
+            @Value("${reservation-service.near-cache.maximum-size:10000}") long maximumSize,
+            @Value("${reservation-service.near-cache.ttl:10m}") Duration ttl,
+            @Value("${reservation-service.near-cache.refresh-after:2m}") Duration refreshAfter,
+            @Value("${reservation-service.near-cache.negative-ttl:30s}") Duration negativeTtl) {
+        return new NearCache.Settings()
+                .setMaximumSize(maximumSize)
+                .setTtl(ttl)
+                .setRefreshAfter(refreshAfter)
+                .setNegativeTtl(negativeTtl);
+    }
+
     @Bean
     @LoadBalanced
     public WebClient.Builder loadBalancedWebClientBuilder() {
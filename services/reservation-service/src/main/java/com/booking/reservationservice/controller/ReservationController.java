@@ -35,6 +35,11 @@ public class ReservationController {
         return reservationService.getPropertyIds(location, checkIn, checkOut);
     }
 
+    @GetMapping("/active")
+    Flux<ReservationDto> getActiveReservations() {
+        return reservationService.getActiveReservations();
+    }
+
     @PreAuthorize("hasRole('BOOKING_USER')")
     @GetMapping("/my-reservations")
     Flux<ReservationDetailsDto> getReservationsByUserId(@AuthenticationPrincipal BookingUser user) {
@@ -1,39 +1,109 @@
 package com.booking.reservationservice.infrastructure;
 
 import com.booking.commondomain.event.Event;
+import com.booking.reservationservice.integration.propertyservice.PropertyServiceIntegration;
 import com.booking.reservationservice.service.reservationservice.ReservationService;
 import com.booking.bookingutils.exception.EventProcessingException;
-import lombok.RequiredArgsConstructor;
+import com.rabbitmq.client.Channel;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.stream.annotation.EnableBinding;
-import org.springframework.cloud.stream.annotation.StreamListener;
-import org.springframework.cloud.stream.messaging.Sink;
-import org.springframework.stereotype.Component;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Consumer;
 
 import static java.lang.String.valueOf;
 
+/**
+ * Reactive consumer of property deletion events. Up to {@code concurrency} events are processed at once,
+ * which lets the purge batcher coalesce them, and each message is acked manually once its purge is written.
+ * A failed or timed out purge is retried with backoff, up to {@code maxAttempts} attempts in total, before
+ * the message is rejected to the dead letter queue.
+ * <p>
+ * Spring Cloud Function does not resolve the type arguments of a {@link Message} payload, so JSON events
+ * arrive with whatever number type Jackson picked for the property id and it is read as a {@link Number}.
+ */
 @Slf4j
-@Component
-@RequiredArgsConstructor
-@EnableBinding(Sink.class)
+@Configuration
 public class MessageProcessor {
 
     private final ReservationService reservationService;
+    private final PropertyServiceIntegration propertyServiceIntegration;
+    private final int concurrency;
+    private final Duration purgeTimeout;
+    private final Retry purgeRetry;
+
+    public MessageProcessor(ReservationService reservationService,
+                            PropertyServiceIntegration propertyServiceIntegration,
+                            @Value("${reservation-service.purge.concurrency:256}") int concurrency,
+                            @Value("${reservation-service.purge.timeout:30s}") Duration purgeTimeout,
+                            @Value("${reservation-service.purge.retry.max-attempts:3}") int maxAttempts,
+                            @Value("${reservation-service.purge.retry.initial-backoff:500ms}") Duration initialBackoff,
+                            @Value("${reservation-service.purge.retry.max-backoff:1s}") Duration maxBackoff) {
+        this.reservationService = reservationService;
+        this.propertyServiceIntegration = propertyServiceIntegration;
+        this.concurrency = concurrency;
+        this.purgeTimeout = purgeTimeout;
+        this.purgeRetry = Retry.backoff(maxAttempts - 1, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .doBeforeRetry(signal -> log.warn("Retrying purge after attempt {} failed: {}",
+                        signal.totalRetries() + 1, signal.failure().getMessage()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Bean
+    public Consumer<Flux<Message<Event<?, ?>>>> deleteReservations() {
+        return messages -> messages
+                .flatMap(message -> Mono.defer(() -> deleteAllReservationsByPropertyId(message.getPayload()))
+                        .then(Mono.fromRunnable(() -> acknowledge(message, true)))
+                        .onErrorResume(error -> {
+                            log.warn("Failed to process message {}: {}", message.getPayload().getKey(), error.getMessage());
+                            acknowledge(message, false);
+                            return Mono.empty();
+                        }), concurrency)
+                .subscribe();
+    }
 
-    @StreamListener(target = Sink.INPUT)
-    public void deleteAllReservationsByPropertyId(Event<Long, Long> event) {
+    private Mono<Void> deleteAllReservationsByPropertyId(Event<?, ?> event) {
         log.info("Process message created at {}...", event.getKey());
 
         if (event.getEventType() == Event.Type.DELETE) {
-            Long propertyId = event.getData();
-            reservationService.deleteAllReservationsByPropertyId(propertyId);
+            Long propertyId = ((Number) event.getData()).longValue();
+            propertyServiceIntegration.evictProperty(propertyId);
+            return Mono.defer(() -> reservationService.deleteAllReservationsByPropertyId(propertyId))
+                    .timeout(purgeTimeout)
+                    .retryWhen(purgeRetry);
         } else {
             String errorMessage =
                     "Incorrect event type: "
                             .concat(valueOf(event.getEventType()))
                             .concat(", expected a CREATE or DELETE event");
             log.warn(errorMessage);
-            throw new EventProcessingException(errorMessage);
+            return Mono.error(new EventProcessingException(errorMessage));
+        }
+    }
+
+    private void acknowledge(Message<?> message, boolean processed) {
+        Channel channel = message.getHeaders().get(AmqpHeaders.CHANNEL, Channel.class);
+        Long deliveryTag = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        if (channel == null || deliveryTag == null) {
+            return;
+        }
+        try {
+            if (processed) {
+                channel.basicAck(deliveryTag, false);
+            } else {
+                channel.basicNack(deliveryTag, false, false);
+            }
+        } catch (IOException e) {
+            log.error("Failed to acknowledge message with delivery tag {}: {}", deliveryTag, e.getMessage());
         }
     }
 }
@@ -0,0 +1,127 @@
+package com.booking.reservationservice.integration.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style coalescing of single-key lookups. Identical keys that are already in flight share one
+ * result, and distinct keys requested within {@code window} are fetched with a single batch call of at most
+ * {@code maxBatchSize} keys. Keys missing from the batch response complete empty.
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    private final String name;
+    private final Function<Collection<K>, Flux<V>> batchFunction;
+    private final Function<V, K> keyExtractor;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler timer = Schedulers.parallel();
+    private final Map<K, Mono<V>> inFlight = new HashMap<>();
+    private final DistributionSummary batchSizes;
+    private final Counter keysSaved;
+    private Map<K, Sinks.One<V>> pending;
+
+    public BatchLoader(String name,
+                       Function<Collection<K>, Flux<V>> batchFunction,
+                       Function<V, K> keyExtractor,
+                       Duration window,
+                       int maxBatchSize,
+                       MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchFunction = batchFunction;
+        this.keyExtractor = keyExtractor;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("integration.batch.size")
+                .description("Distinct keys per downstream batch call")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.keysSaved = Counter.builder("integration.batch.keys.saved")
+                .description("Lookups answered by a key that was already in flight")
+                .tag("loader", name)
+                .register(meterRegistry);
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            Map<K, Sinks.One<V>> full = null;
+            Mono<V> result;
+            synchronized (this) {
+                result = inFlight.get(key);
+                if (result != null) {
+                    keysSaved.increment();
+                    return result;
+                }
+                if (pending == null) {
+                    Map<K, Sinks.One<V>> batch = new LinkedHashMap<>();
+                    pending = batch;
+                    timer.schedule(() -> flush(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                Sinks.One<V> sink = Sinks.one();
+                result = sink.asMono();
+                pending.put(key, sink);
+                inFlight.put(key, result);
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = null;
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return result;
+        });
+    }
+
+    private void flush(Map<K, Sinks.One<V>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        batchSizes.record(batch.size());
+        log.debug("Loading {} {} in one batch", batch.size(), name);
+
+        Mono.defer(() -> batchFunction.apply(batch.keySet()).collectMap(keyExtractor))
+                .subscribe(values -> complete(batch, values, null),
+                        error -> complete(batch, Map.of(), error));
+    }
+
+    private void complete(Map<K, Sinks.One<V>> batch, Map<K, V> values, Throwable error) {
+        synchronized (this) {
+            batch.keySet().forEach(inFlight::remove);
+        }
+        batch.forEach((key, sink) -> {
+            V value = values.get(key);
+            if (error != null) {
+                sink.tryEmitError(error);
+            } else if (value != null) {
+                sink.tryEmitValue(value);
+            } else {
+                sink.tryEmitEmpty();
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.booking.reservationservice.integration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL based cache of remote snapshots. Lookups that found nothing are cached for a shorter
+ * negative TTL, and entries older than the refresh interval are served while one background reload runs.
+ * Failed loads are never cached.
+ * <p>
+ * Every {@link #invalidate} bumps a generation, and a load or refresh only stores its result when no
+ * invalidation happened since it started, so an eviction cannot be undone by a reload that was in flight.
+ */
+@Slf4j
+public class NearCache<K, V> {
+
+    private final Cache<K, Snapshot<V>> cache;
+    private final Map<K, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Function<K, Mono<V>> loader;
+    private final Duration refreshAfter;
+
+    public NearCache(String name, Function<K, Mono<V>> loader, Settings settings, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.refreshAfter = settings.getRefreshAfter();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfter(new SnapshotExpiry<K, V>(settings.getTtl(), settings.getNegativeTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public Mono<V> get(K key) {
+        return Mono.defer(() -> {
+            Snapshot<V> snapshot = cache.getIfPresent(key);
+            if (snapshot == null) {
+                return load(key);
+            }
+            if (snapshot.getValue() != null && snapshot.isStale(refreshAfter)) {
+                refresh(key);
+            }
+            return Mono.justOrEmpty(snapshot.getValue());
+        });
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    private Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            long started = generation.get();
+            return loader.apply(key)
+                    .doOnNext(value -> store(key, new Snapshot<>(value, System.nanoTime()), started))
+                    .switchIfEmpty(Mono.fromRunnable(() -> store(key, new Snapshot<>(null, System.nanoTime()), started)));
+        });
+    }
+
+    /**
+     * Stores a loaded snapshot unless an invalidation happened since the load started. The check runs inside
+     * {@code compute}, which holds the entry lock that {@link #invalidate} has to take as well.
+     */
+    private void store(K key, Snapshot<V> snapshot, long started) {
+        cache.asMap().compute(key, (k, existing) -> generation.get() == started ? snapshot : existing);
+    }
+
+    private void refresh(K key) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        load(key)
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(value -> log.debug("Refreshed cached snapshot for key: {}", key),
+                        error -> log.warn("Failed to refresh cached snapshot for key {}: {}", key, error.getMessage()));
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class Settings {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        private Duration refreshAfter = Duration.ofMinutes(2);
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    private static class Snapshot<V> {
+        private final V value;
+        private final long loadedAt;
+
+        boolean isStale(Duration refreshAfter) {
+            return System.nanoTime() - loadedAt > refreshAfter.toNanos();
+        }
+    }
+
+    private static class SnapshotExpiry<K, V> implements Expiry<K, Snapshot<V>> {
+        private final long ttl;
+        private final long negativeTtl;
+
+        SnapshotExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttl = ttl.toNanos();
+            this.negativeTtl = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Snapshot<V> snapshot, long currentTime) {
+            return snapshot.getValue() == null ? negativeTtl : ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Snapshot<V> snapshot, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, snapshot, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Snapshot<V> snapshot, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
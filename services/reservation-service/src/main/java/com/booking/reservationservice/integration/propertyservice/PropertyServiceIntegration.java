@@ -1,9 +1,21 @@
 package com.booking.reservationservice.integration.propertyservice;
 
 import com.booking.commondomain.dto.property.PropertyReservationDataDto;
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface PropertyServiceIntegration {
 
     Mono<PropertyReservationDataDto> getPropertyById(Long propertyId);
+
+    Flux<PropertyReservationDataDto> getPropertiesByIds(Collection<Long> propertyIds);
+
+    void evictProperty(Long propertyId);
+
+    void reservationCreated(ReservationDto reservationDto);
+
+    void reservationDeleted(ReservationDto reservationDto);
 }
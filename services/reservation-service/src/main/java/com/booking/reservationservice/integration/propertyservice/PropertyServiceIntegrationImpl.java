@@ -1,35 +1,98 @@
 package com.booking.reservationservice.integration.propertyservice;
 
 import com.booking.commondomain.dto.property.PropertyReservationDataDto;
-import lombok.RequiredArgsConstructor;
+import com.booking.commondomain.dto.reservation.ReservationDto;
+import com.booking.commondomain.event.Event;
+import com.booking.reservationservice.integration.batch.BatchLoader;
+import com.booking.reservationservice.integration.cache.NearCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
+
+import static com.booking.commondomain.event.Event.Type.CREATE;
+import static com.booking.commondomain.event.Event.Type.DELETE;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class PropertyServiceIntegrationImpl implements PropertyServiceIntegration {
 
-    @Value("${reservation-service.property-service.url}")
-    private String propertyServiceUrl;
+    private static final int BATCH_SIZE = 500;
+    private static final String OUTPUT_PROPERTIES = "output-properties";
+
+    private final String propertyServiceUrl;
     private final WebClient webClient;
+    private final StreamBridge streamBridge;
+    private final NearCache<Long, PropertyReservationDataDto> propertyCache;
+
+    public PropertyServiceIntegrationImpl(@Value("${reservation-service.property-service.url}") String propertyServiceUrl,
+                                          WebClient webClient,
+                                          StreamBridge streamBridge,
+                                          MeterRegistry meterRegistry,
+                                          NearCache.Settings nearCacheSettings,
+                                          @Value("${reservation-service.integration.batch.window:5ms}") Duration window,
+                                          @Value("${reservation-service.integration.batch.max-size:100}") int maxBatchSize) {
+        this.propertyServiceUrl = propertyServiceUrl;
+        this.webClient = webClient;
+        this.streamBridge = streamBridge;
+        BatchLoader<Long, PropertyReservationDataDto> propertyLoader = new BatchLoader<>("properties",
+                this::getPropertiesByIds, PropertyReservationDataDto::getId, window, maxBatchSize, meterRegistry);
+        this.propertyCache = new NearCache<>("properties", propertyLoader::load, nearCacheSettings, meterRegistry);
+    }
 
     @Override
     public Mono<PropertyReservationDataDto> getPropertyById(Long propertyId) {
+        return propertyCache.get(propertyId);
+    }
+
+    @Override
+    public void evictProperty(Long propertyId) {
+        log.debug("Evicting cached reservation data for property with ID: {}", propertyId);
+        propertyCache.invalidate(propertyId);
+    }
+
+    @Override
+    public Flux<PropertyReservationDataDto> getPropertiesByIds(Collection<Long> propertyIds) {
         var url = UriComponentsBuilder
-                .fromUriString(propertyServiceUrl
-                        .concat("/properties/property-reservation/{propertyId}"))
-                .build(propertyId);
-
-        return webClient
-                .get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(PropertyReservationDataDto.class)
-                .switchIfEmpty(Mono.empty());
+                .fromUriString(propertyServiceUrl.concat("/properties/property-reservation/batch"))
+                .build()
+                .toUri();
+
+        return Flux.fromIterable(propertyIds)
+                .distinct()
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> webClient
+                        .post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .bodyValue(batch)
+                        .retrieve()
+                        .bodyToFlux(PropertyReservationDataDto.class));
+    }
+
+    @Override
+    public void reservationCreated(ReservationDto reservationDto) {
+        log.debug("Publishing reservation created event for reservation with ID: {}", reservationDto.getId());
+        sendReservationEvent(new Event<>(CREATE, reservationDto.getId(), reservationDto));
+    }
+
+    @Override
+    public void reservationDeleted(ReservationDto reservationDto) {
+        log.debug("Publishing reservation deleted event for reservation with ID: {}", reservationDto.getId());
+        sendReservationEvent(new Event<>(DELETE, reservationDto.getId(), reservationDto));
+    }
+
+    private void sendReservationEvent(Event<String, ReservationDto> event) {
+        streamBridge.send(OUTPUT_PROPERTIES, event);
     }
 }
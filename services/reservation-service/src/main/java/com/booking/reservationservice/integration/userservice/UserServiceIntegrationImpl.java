@@ -2,26 +2,51 @@ package com.booking.reservationservice.integration.userservice;
 
 import com.booking.commondomain.dto.user.UserDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
-import com.booking.reservationservice.integration.propertyservice.MessageSources;
-import lombok.RequiredArgsConstructor;
+import com.booking.reservationservice.integration.batch.BatchLoader;
+import com.booking.reservationservice.integration.cache.NearCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.stream.annotation.EnableBinding;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
-@EnableBinding(MessageSources.class)
-@RequiredArgsConstructor
 public class UserServiceIntegrationImpl implements UserServiceIntegration {
 
-    @Value("${reservation-service.user-service.url}")
-    private String userServiceUrl;
+    private static final int BATCH_SIZE = 500;
+
+    private final String userServiceUrl;
     private final WebClient webClient;
 
+    /**
+     * User-service publishes no change events, so nothing evicts these entries. A renamed user or a new
+     * profile image shows up once the snapshot is refreshed after {@code refresh-after}, and a deleted user
+     * is served for at most {@code ttl}.
+     */
+    private final NearCache<String, UserDto> userCache;
+
+    public UserServiceIntegrationImpl(@Value("${reservation-service.user-service.url}") String userServiceUrl,
+                                      WebClient webClient,
+                                      MeterRegistry meterRegistry,
+                                      NearCache.Settings nearCacheSettings,
+                                      @Value("${reservation-service.integration.batch.window:5ms}") Duration window,
+                                      @Value("${reservation-service.integration.batch.max-size:100}") int maxBatchSize) {
+        this.userServiceUrl = userServiceUrl;
+        this.webClient = webClient;
+        BatchLoader<String, UserDto> userLoader = new BatchLoader<>("users",
+                userIds -> getUsersByIds(userIds.stream().map(UUID::fromString).collect(Collectors.toList())),
+                UserDto::getId, window, maxBatchSize, meterRegistry);
+        this.userCache = new NearCache<>("users", userLoader::load, nearCacheSettings, meterRegistry);
+    }
+
     @Override
     public Mono<UserDetailsDto> findUserByEmail(String email) {
         var url = UriComponentsBuilder
@@ -38,14 +63,25 @@ public class UserServiceIntegrationImpl implements UserServiceIntegration {
 
     @Override
     public Mono<UserDto> getUserById(UUID userId) {
-        var url = UriComponentsBuilder.fromUriString(userServiceUrl.concat("/users/user-id/{userId}"))
-                .build(userId.toString());
+        return userCache.get(userId.toString());
+    }
 
-        return webClient
-                .get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(UserDto.class)
-                .switchIfEmpty(Mono.empty());
+    @Override
+    public Flux<UserDto> getUsersByIds(Collection<UUID> userIds) {
+        var url = UriComponentsBuilder.fromUriString(userServiceUrl.concat("/users/batch"))
+                .build()
+                .toUri();
+
+        return Flux.fromIterable(userIds)
+                .distinct()
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> webClient
+                        .post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .bodyValue(batch)
+                        .retrieve()
+                        .bodyToFlux(UserDto.class));
     }
 }
@@ -18,6 +18,7 @@ public class ReservationMapper {
 
     public static ReservationDto toReservationDto(Reservation reservation) {
         return new ReservationDto()
+                .setId(reservation.getId())
                 .setCheckIn(reservation.getCheckIn())
                 .setCheckOut(reservation.getCheckOut())
                 .setLocation(reservation.getLocation())
@@ -0,0 +1,53 @@
+package com.booking.reservationservice.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * An email waiting in the outbox. The template is rendered by the delivery worker, not by the request flow.
+ */
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+@Accessors(chain = true)
+@Data
+@NoArgsConstructor
+public class OutboxEmail {
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String recipient;
+
+    private String subject;
+
+    private String template;
+
+    private Map<String, Object> variables;
+
+    private Status status;
+
+    private int attempts;
+
+    private Instant createdAt;
+
+    private Instant nextAttemptAt;
+
+    private Instant lockedUntil;
+
+    @Indexed(expireAfter = "7d")
+    private Instant sentAt;
+
+    private String lastError;
+}
@@ -1,5 +1,7 @@
 package com.booking.reservationservice.model;
 
+import com.booking.commondomain.dto.property.PropertyReservationDataDto;
+import com.booking.commondomain.dto.user.UserDto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +10,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -33,4 +36,14 @@ public class Reservation {
     private UUID userId;
 
     private UUID ownerId;
+
+    private PropertyReservationDataDto propertySnapshot;
+
+    private UserDto ownerSnapshot;
+
+    private Instant snapshotTakenAt;
+
+    public boolean hasSnapshot() {
+        return propertySnapshot != null && ownerSnapshot != null;
+    }
 }
@@ -0,0 +1,19 @@
+package com.booking.reservationservice.repository;
+
+import com.booking.reservationservice.model.OutboxEmail;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface EmailOutboxCustomRepository {
+
+    Flux<OutboxEmail> claimDue(int limit, Duration lease);
+
+    Mono<Void> markSent(String id, Instant sentAt);
+
+    Mono<Void> markFailed(String id, String error, Instant nextAttemptAt, boolean exhausted);
+
+    Mono<Long> countPending();
+}
@@ -0,0 +1,83 @@
+package com.booking.reservationservice.repository;
+
+import com.booking.reservationservice.model.OutboxEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxCustomRepositoryImpl implements EmailOutboxCustomRepository {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Emails are first selected, then claimed one by one with a conditional update, so concurrent workers
+     * never deliver the same email twice. Emails whose lease ran out while sending are claimed again.
+     */
+    @Override
+    public Flux<OutboxEmail> claimDue(int limit, Duration lease) {
+        Instant now = Instant.now();
+        final Query due = new Query(due(now))
+                .with(Sort.by("nextAttemptAt"))
+                .limit(limit);
+        due.fields().include("_id");
+
+        return reactiveMongoTemplate.find(due, OutboxEmail.class)
+                .concatMap(candidate -> reactiveMongoTemplate.findAndModify(
+                        new Query(new Criteria().andOperator(Criteria.where("_id").is(candidate.getId()), due(now))),
+                        new Update()
+                                .set("status", OutboxEmail.Status.SENDING)
+                                .set("lockedUntil", now.plus(lease)),
+                        FindAndModifyOptions.options().returnNew(true),
+                        OutboxEmail.class));
+    }
+
+    @Override
+    public Mono<Void> markSent(String id, Instant sentAt) {
+        final Query query = new Query(Criteria.where("_id").is(id));
+        final Update update = new Update()
+                .set("status", OutboxEmail.Status.SENT)
+                .set("sentAt", sentAt)
+                .unset("lockedUntil")
+                .unset("lastError");
+
+        return reactiveMongoTemplate.updateFirst(query, update, OutboxEmail.class).then();
+    }
+
+    @Override
+    public Mono<Void> markFailed(String id, String error, Instant nextAttemptAt, boolean exhausted) {
+        final Query query = new Query(Criteria.where("_id").is(id));
+        final Update update = new Update()
+                .inc("attempts", 1)
+                .set("status", exhausted ? OutboxEmail.Status.FAILED : OutboxEmail.Status.PENDING)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error)
+                .unset("lockedUntil");
+
+        return reactiveMongoTemplate.updateFirst(query, update, OutboxEmail.class).then();
+    }
+
+    @Override
+    public Mono<Long> countPending() {
+        return reactiveMongoTemplate.count(
+                new Query(Criteria.where("status").in(OutboxEmail.Status.PENDING, OutboxEmail.Status.SENDING)),
+                OutboxEmail.class);
+    }
+
+    private static Criteria due(Instant now) {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(OutboxEmail.Status.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxEmail.Status.SENDING).and("lockedUntil").lt(now));
+    }
+}
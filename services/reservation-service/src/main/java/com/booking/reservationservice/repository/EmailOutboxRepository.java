@@ -0,0 +1,10 @@
+package com.booking.reservationservice.repository;
+
+import com.booking.reservationservice.model.OutboxEmail;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailOutboxRepository extends ReactiveMongoRepository<OutboxEmail, String>,
+EmailOutboxCustomRepository {
+}
@@ -0,0 +1,200 @@
+package com.booking.reservationservice.repository;
+
+import com.booking.reservationservice.model.Reservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, per-location interval index of active reservations. Every location keeps an immutable
+ * snapshot of its reservations sorted by check-in day together with a max-check-out segment tree,
+ * so an overlap lookup only visits the reservations that actually overlap the requested dates.
+ * <p>
+ * Writes are applied while the startup snapshot is still loading. Removals made in that window are also
+ * kept as tombstones and re-applied once the snapshot is merged, so the snapshot cannot bring them back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationAvailabilityIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final Map<String, LocationIndex> locations = new ConcurrentHashMap<>();
+    private final Set<String> removedReservationIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedPropertyIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reservationRepository.findByCheckOutGreaterThanEqual(LocalDate.now())
+                .collect(Collectors.groupingBy(Reservation::getLocation))
+                .subscribe(byLocation -> {
+                    byLocation.forEach((location, reservations) -> locations.merge(location,
+                            LocationIndex.of(reservations), LocationIndex::merge));
+                    locations.replaceAll((location, index) -> index.without(entry ->
+                            removedReservationIds.contains(entry.reservationId)
+                                    || removedPropertyIds.contains(entry.propertyId)));
+                    ready = true;
+                    removedReservationIds.clear();
+                    removedPropertyIds.clear();
+                    log.info("Reservation availability index loaded for {} locations", byLocation.size());
+                }, error -> log.error("Failed to load reservation availability index: {}", error.getMessage()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Long> findPropertyIds(String location, LocalDate checkIn, LocalDate checkOut) {
+        LocationIndex index = locations.get(location);
+        if (index == null) {
+            return List.of();
+        }
+        return index.findPropertyIds(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    public void add(Reservation reservation) {
+        if (reservation.getCheckOut().isBefore(LocalDate.now())) {
+            return;
+        }
+        locations.merge(reservation.getLocation(), LocationIndex.of(List.of(reservation)), LocationIndex::merge);
+    }
+
+    public void remove(Reservation reservation) {
+        if (!ready) {
+            removedReservationIds.add(reservation.getId());
+        }
+        locations.computeIfPresent(reservation.getLocation(),
+                (location, index) -> index.without(entry -> entry.reservationId.equals(reservation.getId())));
+    }
+
+    public void removeByPropertyIds(Collection<Long> propertyIds) {
+        if (!ready) {
+            removedPropertyIds.addAll(propertyIds);
+        }
+        locations.replaceAll((location, index) -> index.without(entry -> propertyIds.contains(entry.propertyId)));
+    }
+
+    /**
+     * Drops reservations that checked out before today and locations left without any.
+     */
+    @Scheduled(cron = "${reservation-service.availability-index.prune-cron:0 5 0 * * *}")
+    public void prune() {
+        long today = LocalDate.now().toEpochDay();
+        locations.keySet().forEach(location -> locations.computeIfPresent(location, (key, index) -> {
+            LocationIndex pruned = index.without(entry -> entry.checkOut < today);
+            return pruned.entries.length == 0 ? null : pruned;
+        }));
+    }
+
+    private static final class Entry {
+        private final String reservationId;
+        private final Long propertyId;
+        private final long checkIn;
+        private final long checkOut;
+
+        private Entry(Reservation reservation) {
+            this.reservationId = reservation.getId();
+            this.propertyId = reservation.getPropertyId();
+            this.checkIn = reservation.getCheckIn().toEpochDay();
+            this.checkOut = reservation.getCheckOut().toEpochDay();
+        }
+    }
+
+    private static final class LocationIndex {
+        private final Entry[] entries;
+        private final long[] maxCheckOut;
+
+        private LocationIndex(List<Entry> entries) {
+            this.entries = entries.stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.checkIn))
+                    .toArray(Entry[]::new);
+            this.maxCheckOut = new long[Math.max(1, 4 * this.entries.length)];
+            if (this.entries.length > 0) {
+                build(1, 0, this.entries.length - 1);
+            }
+        }
+
+        private static LocationIndex of(List<Reservation> reservations) {
+            return new LocationIndex(reservations.stream().map(Entry::new).collect(Collectors.toList()));
+        }
+
+        private LocationIndex merge(LocationIndex other) {
+            Set<String> replaced = Arrays.stream(other.entries)
+                    .map(entry -> entry.reservationId)
+                    .collect(Collectors.toSet());
+            List<Entry> merged = Arrays.stream(entries)
+                    .filter(entry -> !replaced.contains(entry.reservationId))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            merged.addAll(Arrays.asList(other.entries));
+            return new LocationIndex(merged);
+        }
+
+        private LocationIndex without(Predicate<Entry> predicate) {
+            return new LocationIndex(Arrays.stream(entries)
+                    .filter(predicate.negate())
+                    .collect(Collectors.toList()));
+        }
+
+        private long build(int node, int from, int to) {
+            if (from == to) {
+                maxCheckOut[node] = entries[from].checkOut;
+            } else {
+                int middle = (from + to) >>> 1;
+                maxCheckOut[node] = Math.max(build(2 * node, from, middle), build(2 * node + 1, middle + 1, to));
+            }
+            return maxCheckOut[node];
+        }
+
+        private List<Long> findPropertyIds(long checkIn, long checkOut) {
+            int bound = upperBound(checkOut);
+            List<Long> propertyIds = new ArrayList<>();
+            if (bound > 0) {
+                collect(1, 0, entries.length - 1, bound - 1, checkIn, propertyIds);
+            }
+            return propertyIds.stream().distinct().collect(Collectors.toList());
+        }
+
+        private int upperBound(long checkOut) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle].checkIn <= checkOut) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void collect(int node, int from, int to, int last, long checkIn, List<Long> propertyIds) {
+            if (from > last || maxCheckOut[node] < checkIn) {
+                return;
+            }
+            if (from == to) {
+                propertyIds.add(entries[from].propertyId);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            collect(2 * node, from, middle, last, checkIn, propertyIds);
+            collect(2 * node + 1, middle + 1, to, last, checkIn, propertyIds);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.booking.reservationservice.repository;
 
+import com.booking.commondomain.dto.property.PropertyReservationDataDto;
+import com.booking.commondomain.dto.user.UserDto;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.Collection;
 
 public interface ReservationCustomRepository {
 
     Flux<Long> findPropertyIds(String location, LocalDate checkIn, LocalDate checkOut);
+
+    Mono<Void> updateSnapshot(String reservationId, PropertyReservationDataDto propertySnapshot, UserDto ownerSnapshot);
+
+    Mono<Long> deleteAllByPropertyIds(Collection<Long> propertyIds);
 }
@@ -1,15 +1,22 @@
 package com.booking.reservationservice.repository;
 
+import com.booking.commondomain.dto.property.PropertyReservationDataDto;
+import com.booking.commondomain.dto.user.UserDto;
 import com.booking.reservationservice.model.Reservation;
+import com.mongodb.client.result.DeleteResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -53,4 +60,22 @@ public class ReservationCustomRepositoryImpl implements ReservationCustomReposit
 
         return reactiveMongoTemplate.find(query, Reservation.class, "reservations").map(Reservation::getPropertyId);
     }
+
+    @Override
+    public Mono<Void> updateSnapshot(String reservationId, PropertyReservationDataDto propertySnapshot, UserDto ownerSnapshot) {
+        final Query query = new Query(Criteria.where("_id").is(reservationId));
+        final Update update = new Update()
+                .set("propertySnapshot", propertySnapshot)
+                .set("ownerSnapshot", ownerSnapshot)
+                .set("snapshotTakenAt", Instant.now());
+
+        return reactiveMongoTemplate.updateFirst(query, update, Reservation.class).then();
+    }
+
+    @Override
+    public Mono<Long> deleteAllByPropertyIds(Collection<Long> propertyIds) {
+        final Query query = new Query(Criteria.where("propertyId").in(propertyIds));
+
+        return reactiveMongoTemplate.remove(query, Reservation.class).map(DeleteResult::getDeletedCount);
+    }
 }
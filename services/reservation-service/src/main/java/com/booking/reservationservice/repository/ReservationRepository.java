@@ -4,8 +4,8 @@ import com.booking.reservationservice.model.Reservation;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Repository
@@ -14,5 +14,5 @@ ReservationCustomRepository {
 
     Flux<Reservation> findByUserId(UUID userId);
 
-    Mono<Void> deleteAllByPropertyId(Long propertyId);
+    Flux<Reservation> findByCheckOutGreaterThanEqual(LocalDate date);
 }
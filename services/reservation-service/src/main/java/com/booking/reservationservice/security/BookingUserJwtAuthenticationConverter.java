@@ -6,6 +6,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
@@ -13,7 +14,10 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-/** JWT converter that takes the roles from 'groups' claim of JWT token. */
+/**
+ * JWT converter that takes the roles from 'groups' claim of JWT token. Tokens without an email are
+ * client-credentials tokens of other services and keep the JWT as principal.
+ */
 public class BookingUserJwtAuthenticationConverter
     implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
   private static final String REALM_ACCESS = "realm_access";
@@ -28,6 +32,9 @@ public class BookingUserJwtAuthenticationConverter
   @Override
   public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
     Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
+    if (jwt.getClaimAsString("email") == null) {
+      return Mono.just(new JwtAuthenticationToken(jwt, authorities));
+    }
     return bookingReactiveUserDetailsService
             .findByUsername(jwt.getClaimAsString("email"))
             .map(u -> new UsernamePasswordAuthenticationToken(u, "n/a", authorities));
@@ -43,7 +50,7 @@ public class BookingUserJwtAuthenticationConverter
   @SuppressWarnings("unchecked")
   private Collection<String> getRules(Jwt jwt){
     Map<String, Object> realmAccessClaim = jwt.getClaim(REALM_ACCESS);
-    if (realmAccessClaim.get("roles") instanceof Collection) {
+    if (realmAccessClaim != null && realmAccessClaim.get("roles") instanceof Collection) {
       return (Collection<String>) realmAccessClaim.get("roles");
     }
 
@@ -11,6 +11,9 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 @EnableReactiveMethodSecurity
 public class WebSecurity {
 
+    /** Realm role granted to the service accounts of the other booking services. */
+    public static final String INTERNAL_SERVICE = "INTERNAL_SERVICE";
+
     private final BookingReactiveUserDetailsService bookingReactiveUserDetailsService;
 
     @Autowired
@@ -26,6 +29,7 @@ public class WebSecurity {
                 .csrf()
                 .disable()
                     .authorizeExchange()
+                    .pathMatchers("/reservations/active").hasRole(INTERNAL_SERVICE)
                     .pathMatchers("/reservations/**").permitAll()
                     .anyExchange()
                     .authenticated()
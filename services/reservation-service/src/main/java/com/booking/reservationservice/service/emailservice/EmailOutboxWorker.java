@@ -0,0 +1,184 @@
+package com.booking.reservationservice.service.emailservice;
+
+import com.booking.reservationservice.model.OutboxEmail;
+import com.booking.reservationservice.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers queued emails on a dedicated worker pool. Every worker renders its share of a claimed batch and
+ * sends it over a single SMTP connection; failed emails are retried with exponential backoff until
+ * {@code max-attempts} is reached.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker implements DisposableBean {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailServiceHelper emailServiceHelper;
+    private final JavaMailSender emailSender;
+    private final Scheduler workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer deliveryLatency;
+    private final Timer batchSendTime;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+                             EmailServiceHelper emailServiceHelper,
+                             JavaMailSender emailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${reservation-service.email-outbox.workers:2}") int workerCount,
+                             @Value("${reservation-service.email-outbox.batch-size:50}") int batchSize,
+                             @Value("${reservation-service.email-outbox.lease:2m}") Duration lease,
+                             @Value("${reservation-service.email-outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${reservation-service.email-outbox.initial-backoff:5s}") Duration initialBackoff,
+                             @Value("${reservation-service.email-outbox.max-backoff:30m}") Duration maxBackoff) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailServiceHelper = emailServiceHelper;
+        this.emailSender = emailSender;
+        this.workers = Schedulers.newBoundedElastic(workerCount, workerCount, "email-outbox");
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        meterRegistry.gauge("email.outbox.pending", queueDepth);
+        this.deliveryLatency = Timer.builder("email.outbox.delivery.latency")
+                .description("Time from queueing an email to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSendTime = Timer.builder("email.outbox.batch.send")
+                .description("Time to render and send one batch over a single SMTP connection")
+                .register(meterRegistry);
+        this.sent = deliveries(meterRegistry, "sent");
+        this.retried = deliveries(meterRegistry, "retried");
+        this.failed = deliveries(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${reservation-service.email-outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        emailOutboxRepository.countPending()
+                .doOnNext(queueDepth::set)
+                .thenMany(emailOutboxRepository.claimDue(batchSize, lease))
+                .collectList()
+                .flatMapMany(claimed -> Flux.fromIterable(claimed)
+                        .buffer(Math.max(1, (claimed.size() + workerCount - 1) / workerCount))
+                        .flatMap(share -> Mono.fromCallable(() -> deliver(share)).subscribeOn(workers), workerCount))
+                .concatMap(results -> Flux.fromIterable(results).concatMap(this::record))
+                .doFinally(signal -> polling.set(false))
+                .subscribe(null, error -> log.error("Email outbox delivery failed: {}", error.getMessage()));
+    }
+
+    private List<Delivery> deliver(List<OutboxEmail> emails) {
+        return batchSendTime.record(() -> {
+            Map<MimeMessage, OutboxEmail> messages = new LinkedHashMap<>();
+            Map<String, Exception> failures = new HashMap<>();
+            for (OutboxEmail email : emails) {
+                try {
+                    messages.put(emailServiceHelper.createMimeMessage(email), email);
+                } catch (Exception e) {
+                    failures.put(email.getId(), e);
+                }
+            }
+            if (!messages.isEmpty()) {
+                try {
+                    emailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+                } catch (MailSendException e) {
+                    if (e.getFailedMessages().isEmpty()) {
+                        messages.values().forEach(email -> failures.put(email.getId(), e));
+                    }
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        OutboxEmail email = messages.get(message);
+                        if (email != null) {
+                            failures.put(email.getId(), cause);
+                        }
+                    });
+                } catch (MailException e) {
+                    messages.values().forEach(email -> failures.put(email.getId(), e));
+                }
+            }
+            List<Delivery> deliveries = new ArrayList<>();
+            emails.forEach(email -> deliveries.add(new Delivery(email, failures.get(email.getId()))));
+            return deliveries;
+        });
+    }
+
+    private Mono<Void> record(Delivery delivery) {
+        OutboxEmail email = delivery.getEmail();
+        Instant now = Instant.now();
+        if (delivery.getError() == null) {
+            sent.increment();
+            deliveryLatency.record(Duration.between(email.getCreatedAt(), now));
+            return emailOutboxRepository.markSent(email.getId(), now);
+        }
+
+        int attempts = email.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        (exhausted ? failed : retried).increment();
+        log.warn("Failed to deliver email {} (attempt {} of {}): {}",
+                email.getId(), attempts, maxAttempts, delivery.getError().getMessage());
+        return emailOutboxRepository.markFailed(email.getId(), delivery.getError().getMessage(),
+                now.plus(backoff(attempts)), exhausted);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Counter deliveries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.outbox.deliveries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        workers.dispose();
+    }
+
+    @Data
+    private static class Delivery {
+        private final OutboxEmail email;
+        private final Exception error;
+    }
+}
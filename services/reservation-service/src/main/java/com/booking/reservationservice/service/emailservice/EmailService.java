@@ -2,12 +2,11 @@ package com.booking.reservationservice.service.emailservice;
 
 import com.booking.commondomain.dto.reservation.ReservationDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
-
-import javax.mail.MessagingException;
+import reactor.core.publisher.Mono;
 
 public interface EmailService {
 
-    void sendReservationDetailsToOwner(ReservationDetailsDto reservationDetailsDto, UserDto customer) throws MessagingException;
+    Mono<Void> sendReservationDetailsToOwner(ReservationDetailsDto reservationDetailsDto, UserDto customer);
 
-    void sendCancellationMessage(ReservationDetailsDto reservationDetailsDto, UserDto customer) throws MessagingException;
+    Mono<Void> sendCancellationMessage(ReservationDetailsDto reservationDetailsDto, UserDto customer);
 }
@@ -2,46 +2,58 @@ package com.booking.reservationservice.service.emailservice;
 
 import com.booking.commondomain.dto.reservation.ReservationDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
+import com.booking.reservationservice.model.OutboxEmail;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 public class EmailServiceHelper {
 
     private final JavaMailSender emailSender;
+    private final SpringTemplateEngine thymeleafTemplateEngine;
+
+    public MimeMessage createMimeMessage(OutboxEmail email) throws MessagingException {
+        Context ctx = new Context();
+        ctx.setVariables(email.getVariables());
+        String htmlBody = thymeleafTemplateEngine.process(email.getTemplate(), ctx);
 
-    public void sendEmail(ReservationDetailsDto reservationDetailsDto, String subject, String htmlBody) throws MessagingException {
         MimeMessage message = emailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-        helper.setTo(reservationDetailsDto.getUserDto().getEmail());
-        helper.setSubject(subject);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
         helper.setText(htmlBody, true);
 
-        emailSender.send(message);
+        return message;
     }
 
-    public Context getContext(ReservationDetailsDto reservationDetailsDto, UserDto customer) {
-        Context ctx = new Context();
-
-        ctx.setVariable("title", reservationDetailsDto.getPropertyReservationDataDto().getTitle());
-        ctx.setVariable("firstName", customer.getFirstName());
-        ctx.setVariable("lastName", customer.getLastName());
-        ctx.setVariable("email", customer.getEmail());
-        ctx.setVariable("checkIn", reservationDetailsDto.getCheckIn());
-        ctx.setVariable("checkOut", reservationDetailsDto.getCheckOut());
-        ctx.setVariable("price", reservationDetailsDto.getPrice());
-        ctx.setVariable("propertyType",reservationDetailsDto.getPropertyReservationDataDto().getPropertyType());
-        ctx.setVariable("location", reservationDetailsDto.getPropertyReservationDataDto().getLocation());
-        ctx.setVariable("pricePerNight", reservationDetailsDto.getPropertyReservationDataDto().getPricePerNight());
-
-        return ctx;
+    /**
+     * Template variables as plain values, so they render the same after a round trip through the outbox.
+     */
+    public Map<String, Object> getVariables(ReservationDetailsDto reservationDetailsDto, UserDto customer) {
+        Map<String, Object> variables = new HashMap<>();
+
+        variables.put("title", reservationDetailsDto.getPropertyReservationDataDto().getTitle());
+        variables.put("firstName", customer.getFirstName());
+        variables.put("lastName", customer.getLastName());
+        variables.put("email", customer.getEmail());
+        variables.put("checkIn", String.valueOf(reservationDetailsDto.getCheckIn()));
+        variables.put("checkOut", String.valueOf(reservationDetailsDto.getCheckOut()));
+        variables.put("price", String.valueOf(reservationDetailsDto.getPrice()));
+        variables.put("propertyType", reservationDetailsDto.getPropertyReservationDataDto().getPropertyType());
+        variables.put("location", reservationDetailsDto.getPropertyReservationDataDto().getLocation());
+        variables.put("pricePerNight", reservationDetailsDto.getPropertyReservationDataDto().getPricePerNight());
+
+        return variables;
     }
 }
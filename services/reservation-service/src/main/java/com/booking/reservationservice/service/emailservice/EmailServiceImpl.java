@@ -2,37 +2,53 @@ package com.booking.reservationservice.service.emailservice;
 
 import com.booking.commondomain.dto.reservation.ReservationDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
+import com.booking.reservationservice.model.OutboxEmail;
+import com.booking.reservationservice.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
 
-import javax.mail.MessagingException;
+import java.time.Instant;
 
+/**
+ * Queues emails in the outbox; {@link EmailOutboxWorker} renders and delivers them.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
     private final EmailServiceHelper emailServiceHelper;
-    private final SpringTemplateEngine thymeleafTemplateEngine;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Override
-    public void sendReservationDetailsToOwner(ReservationDetailsDto reservationDetailsDto, UserDto customer) throws MessagingException {
-        Context ctx = emailServiceHelper.getContext(reservationDetailsDto, customer);
-
-        String htmlBody = thymeleafTemplateEngine.process("email-new-reservation.html", ctx);
+    public Mono<Void> sendReservationDetailsToOwner(ReservationDetailsDto reservationDetailsDto, UserDto customer) {
         String subject = "New Reservation at " + reservationDetailsDto.getPropertyReservationDataDto().getTitle();
-
-        emailServiceHelper.sendEmail(reservationDetailsDto, subject, htmlBody);
+        return enqueue(reservationDetailsDto, customer, "email-new-reservation.html", subject);
     }
 
     @Override
-    public void sendCancellationMessage(ReservationDetailsDto reservationDetailsDto, UserDto customer) throws MessagingException {
-        Context ctx = emailServiceHelper.getContext(reservationDetailsDto, customer);
-
-        String htmlBody = thymeleafTemplateEngine.process("email-cancellation.html", ctx);
+    public Mono<Void> sendCancellationMessage(ReservationDetailsDto reservationDetailsDto, UserDto customer) {
         String subject = "Cancellation from " + customer.getFirstName() + " " + customer.getLastName();
+        return enqueue(reservationDetailsDto, customer, "email-cancellation.html", subject);
+    }
 
-        emailServiceHelper.sendEmail(reservationDetailsDto, subject, htmlBody);
+    private Mono<Void> enqueue(ReservationDetailsDto reservationDetailsDto, UserDto customer,
+                               String template, String subject) {
+        Instant now = Instant.now();
+        OutboxEmail email = new OutboxEmail()
+                .setRecipient(reservationDetailsDto.getUserDto().getEmail())
+                .setSubject(subject)
+                .setTemplate(template)
+                .setVariables(emailServiceHelper.getVariables(reservationDetailsDto, customer))
+                .setStatus(OutboxEmail.Status.PENDING)
+                .setCreatedAt(now)
+                .setNextAttemptAt(now);
+
+        return emailOutboxRepository.save(email)
+                .doOnNext(saved -> log.debug("Queued email {} for reservation with id: {}",
+                        saved.getId(), reservationDetailsDto.getId()))
+                .then();
     }
 }
@@ -0,0 +1,127 @@
+package com.booking.reservationservice.service.reservationservice;
+
+import com.booking.reservationservice.repository.ReservationAvailabilityIndex;
+import com.booking.reservationservice.repository.ReservationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects property purge requests for up to {@code max-batch-size} properties or {@code window} and removes
+ * their reservations with a single {@code propertyId $in} delete. A property that is already being purged
+ * joins the pending delete, and recently purged properties are remembered in a bounded idempotency store
+ * so redelivered events complete without another write.
+ */
+@Slf4j
+@Component
+public class ReservationPurgeBatcher implements DisposableBean {
+
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+            (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationAvailabilityIndex reservationAvailabilityIndex;
+    private final Cache<Long, Boolean> purged;
+    private final Map<Long, Sinks.Empty<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Sinks.Many<Long> requests = Sinks.many().unicast().onBackpressureBuffer();
+    private final DistributionSummary batchSizes;
+    private final Counter duplicates;
+    private final Disposable subscription;
+
+    public ReservationPurgeBatcher(ReservationRepository reservationRepository,
+                                   ReservationAvailabilityIndex reservationAvailabilityIndex,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${reservation-service.purge.max-batch-size:100}") int maxBatchSize,
+                                   @Value("${reservation-service.purge.window:50ms}") Duration window,
+                                   @Value("${reservation-service.purge.idempotency.maximum-size:100000}") long idempotencySize,
+                                   @Value("${reservation-service.purge.idempotency.ttl:24h}") Duration idempotencyTtl) {
+        this.reservationRepository = reservationRepository;
+        this.reservationAvailabilityIndex = reservationAvailabilityIndex;
+        this.purged = Caffeine.newBuilder()
+                .maximumSize(idempotencySize)
+                .expireAfterWrite(idempotencyTtl)
+                .build();
+        this.batchSizes = DistributionSummary.builder("reservation.purge.batch.size")
+                .description("Distinct properties purged per delete")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("reservation.purge.duplicates")
+                .description("Purge requests answered by a pending or already completed purge")
+                .register(meterRegistry);
+        this.subscription = requests.asFlux()
+                .bufferTimeout(maxBatchSize, window)
+                .onBackpressureBuffer()
+                .concatMap(this::delete)
+                .subscribe();
+    }
+
+    public Mono<Void> purge(Long propertyId) {
+        return Mono.defer(() -> {
+            if (purged.getIfPresent(propertyId) != null) {
+                duplicates.increment();
+                return Mono.empty();
+            }
+            Sinks.Empty<Void> sink = Sinks.empty();
+            Sinks.Empty<Void> pending = inFlight.putIfAbsent(propertyId, sink);
+            if (pending != null) {
+                duplicates.increment();
+                return pending.asMono();
+            }
+            requests.emitNext(propertyId, RETRY_NON_SERIALIZED);
+            return sink.asMono();
+        });
+    }
+
+    private Mono<Void> delete(List<Long> propertyIds) {
+        batchSizes.record(propertyIds.size());
+
+        return reservationRepository.deleteAllByPropertyIds(propertyIds)
+                .doOnNext(deleted -> {
+                    reservationAvailabilityIndex.removeByPropertyIds(propertyIds);
+                    log.info("Deleted {} reservations of {} properties", deleted, propertyIds.size());
+                })
+                .then(Mono.fromRunnable(() -> complete(propertyIds, null)))
+                .onErrorResume(error -> {
+                    log.warn("Failed to delete reservations of {} properties: {}", propertyIds.size(), error.getMessage());
+                    complete(propertyIds, error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void complete(List<Long> propertyIds, Throwable error) {
+        propertyIds.forEach(propertyId -> {
+            if (error == null) {
+                purged.put(propertyId, Boolean.TRUE);
+            }
+            Sinks.Empty<Void> sink = inFlight.remove(propertyId);
+            if (sink == null) {
+                return;
+            }
+            if (error == null) {
+                sink.tryEmitEmpty();
+            } else {
+                sink.tryEmitError(error);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        subscription.dispose();
+    }
+}
@@ -13,11 +13,13 @@ public interface ReservationService {
 
     Flux<Long> getPropertyIds(String location, LocalDate checkIn, LocalDate checkOut);
 
+    Flux<ReservationDto> getActiveReservations();
+
     Flux<ReservationDetailsDto> getReservationsByUserId(@AuthenticationPrincipal BookingUser user);
 
     Mono<ReservationDetailsDto> createReservation(ReservationDto reservationDto);
 
     Mono<Void> deleteReservation(String reservationId);
 
-    void deleteAllReservationsByPropertyId(Long propertyId);
+    Mono<Void> deleteAllReservationsByPropertyId(Long propertyId);
 }
@@ -1,5 +1,6 @@
 package com.booking.reservationservice.service.reservationservice;
 
+import com.booking.bookingutils.exception.NotFoundException;
 import com.booking.commondomain.dto.reservation.ReservationDetailsDto;
 import com.booking.commondomain.dto.reservation.ReservationDto;
 import com.booking.commondomain.dto.user.BookingUser;
@@ -7,6 +8,7 @@ import com.booking.reservationservice.integration.propertyservice.PropertyServic
 import com.booking.reservationservice.integration.userservice.UserServiceIntegration;
 import com.booking.reservationservice.mapper.ReservationMapper;
 import com.booking.reservationservice.model.Reservation;
+import com.booking.reservationservice.repository.ReservationAvailabilityIndex;
 import com.booking.reservationservice.repository.ReservationRepository;
 import com.booking.reservationservice.service.reservationservice.helper.ReservationServiceHelper;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -28,24 +31,33 @@ public class ReservationServiceImpl implements ReservationService {
     private final ReservationServiceHelper reservationServiceHelper;
     private final UserServiceIntegration userServiceIntegration;
     private final PropertyServiceIntegration propertyServiceIntegration;
+    private final ReservationAvailabilityIndex reservationAvailabilityIndex;
+    private final ReservationPurgeBatcher reservationPurgeBatcher;
 
     @Override
     public Flux<Long> getPropertyIds(String location, LocalDate checkIn, LocalDate checkOut) {
         log.info("Get reserved property ids");
+
+        if (reservationAvailabilityIndex.isReady()) {
+            return Flux.fromIterable(reservationAvailabilityIndex.findPropertyIds(location, checkIn, checkOut));
+        }
         return reservationRepository.findPropertyIds(location, checkIn, checkOut);
     }
 
+    @Override
+    public Flux<ReservationDto> getActiveReservations() {
+        log.info("Get active reservations");
+        return reservationRepository.findByCheckOutGreaterThanEqual(LocalDate.now())
+                .map(ReservationMapper::toReservationDto);
+    }
+
     @Override
     public Flux<ReservationDetailsDto> getReservationsByUserId(@AuthenticationPrincipal BookingUser user) {
         log.info("Get Reservations By User Id: {}", user.getId());
 
         return reservationRepository
                 .findByUserId(UUID.fromString(user.getId()))
-                .flatMap(reservation ->
-                        Mono.zip(propertyServiceIntegration.getPropertyById(reservation.getPropertyId()),
-                                userServiceIntegration.getUserById(reservation.getOwnerId()),
-                                (propertyReservationDataDto, userDto) -> reservationServiceHelper
-                                        .createReservationDetailsDto(reservation, propertyReservationDataDto, userDto)));
+                .flatMap(this::toReservationDetailsDto);
     }
 
     @Override
@@ -54,13 +66,21 @@ public class ReservationServiceImpl implements ReservationService {
 
         Reservation reservation = ReservationMapper.toReservation(reservationDto);
 
-        return reservationRepository.save(reservation)
-                .flatMap(savedReservation ->
-                        Mono.zip(propertyServiceIntegration.getPropertyById(reservation.getPropertyId()),
-                                userServiceIntegration.getUserById(reservation.getOwnerId()),
-                                (propertyReservationDataDto, userDto) -> reservationServiceHelper
-                                        .createReservationDetailsDto(reservation, propertyReservationDataDto, userDto)))
-                .map(reservationServiceHelper::sendReservationDetailsMessage);
+        return Mono.zip(propertyServiceIntegration.getPropertyById(reservation.getPropertyId())
+                                .switchIfEmpty(Mono.error(() -> new NotFoundException(
+                                        "Property not found: " + reservation.getPropertyId()))),
+                        userServiceIntegration.getUserById(reservation.getOwnerId())
+                                .switchIfEmpty(Mono.error(() -> new NotFoundException(
+                                        "Owner not found: " + reservation.getOwnerId()))))
+                .flatMap(snapshot -> reservationRepository.save(reservation
+                        .setPropertySnapshot(snapshot.getT1())
+                        .setOwnerSnapshot(snapshot.getT2())
+                        .setSnapshotTakenAt(Instant.now())))
+                .doOnNext(reservationAvailabilityIndex::add)
+                .doOnNext(savedReservation ->
+                        propertyServiceIntegration.reservationCreated(ReservationMapper.toReservationDto(savedReservation)))
+                .map(reservationServiceHelper::createReservationDetailsDto)
+                .flatMap(reservationServiceHelper::sendReservationDetailsMessage);
     }
 
     @Override
@@ -68,19 +88,40 @@ public class ReservationServiceImpl implements ReservationService {
         log.info("Delete Reservation with reservation id: {}", reservationId);
 
         return reservationRepository.findById(reservationId)
-                .flatMap(reservation ->
-                        Mono.zip(propertyServiceIntegration.getPropertyById(reservation.getPropertyId()),
-                                userServiceIntegration.getUserById(reservation.getOwnerId()),
-                                (propertyReservationDataDto, userDto) -> reservationServiceHelper
-                                        .createReservationDetailsDto(reservation, propertyReservationDataDto, userDto)))
-                .map(reservationServiceHelper::sendCancellationMessage)
-                .then(reservationRepository.deleteById(reservationId));
+                .flatMap(reservation -> reservationRepository.delete(reservation)
+                        .doOnSuccess(deleted -> {
+                            reservationAvailabilityIndex.remove(reservation);
+                            propertyServiceIntegration.reservationDeleted(ReservationMapper.toReservationDto(reservation));
+                        })
+                        .then(sendCancellationMessage(reservation)));
+    }
+
+    private Mono<Void> sendCancellationMessage(Reservation reservation) {
+        return Mono.defer(() -> toReservationDetailsDto(reservation))
+                .flatMap(reservationServiceHelper::sendCancellationMessage)
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        log.warn("No cancellation email for reservation {}, property or owner not found", reservation.getId())))
+                .onErrorResume(error -> {
+                    log.warn("Failed to send cancellation email for reservation {}: {}", reservation.getId(), error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<ReservationDetailsDto> toReservationDetailsDto(Reservation reservation) {
+        if (reservation.hasSnapshot()) {
+            return Mono.just(reservationServiceHelper.createReservationDetailsDto(reservation));
+        }
+        return Mono.zip(propertyServiceIntegration.getPropertyById(reservation.getPropertyId()),
+                userServiceIntegration.getUserById(reservation.getOwnerId()),
+                (propertyReservationDataDto, userDto) -> reservationServiceHelper
+                        .createReservationDetailsDto(reservation, propertyReservationDataDto, userDto));
     }
 
     @Override
-    public void deleteAllReservationsByPropertyId(Long propertyId) {
+    public Mono<Void> deleteAllReservationsByPropertyId(Long propertyId) {
         log.info("Delete All Reservations By property Id: {}", propertyId);
 
-        reservationRepository.deleteAllByPropertyId(propertyId).subscribe();
+        return reservationPurgeBatcher.purge(propertyId);
     }
 }
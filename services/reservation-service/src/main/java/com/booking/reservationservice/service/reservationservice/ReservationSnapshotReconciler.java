@@ -0,0 +1,83 @@
+package com.booking.reservationservice.service.reservationservice;
+
+import com.booking.commondomain.dto.property.PropertyReservationDataDto;
+import com.booking.commondomain.dto.user.UserDto;
+import com.booking.reservationservice.integration.propertyservice.PropertyServiceIntegration;
+import com.booking.reservationservice.integration.userservice.UserServiceIntegration;
+import com.booking.reservationservice.model.Reservation;
+import com.booking.reservationservice.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically compares the property and owner snapshots of active reservations with the current upstream
+ * data, fetched in batches, and patches the reservations whose snapshot is missing or out of date.
+ */
+@Slf4j
+@Component
+public class ReservationSnapshotReconciler {
+
+    private final ReservationRepository reservationRepository;
+    private final PropertyServiceIntegration propertyServiceIntegration;
+    private final UserServiceIntegration userServiceIntegration;
+    private final int batchSize;
+
+    public ReservationSnapshotReconciler(ReservationRepository reservationRepository,
+                                         PropertyServiceIntegration propertyServiceIntegration,
+                                         UserServiceIntegration userServiceIntegration,
+                                         @Value("${reservation-service.snapshot-reconciler.batch-size:500}") int batchSize) {
+        this.reservationRepository = reservationRepository;
+        this.propertyServiceIntegration = propertyServiceIntegration;
+        this.userServiceIntegration = userServiceIntegration;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation-service.snapshot-reconciler.interval:PT15M}",
+            initialDelayString = "${reservation-service.snapshot-reconciler.initial-delay:PT1M}")
+    public void reconcile() {
+        reservationRepository.findByCheckOutGreaterThanEqual(LocalDate.now())
+                .buffer(batchSize)
+                .concatMap(this::reconcile)
+                .reduce(0L, Long::sum)
+                .subscribe(count -> log.info("Reservation snapshot reconciliation patched {} reservations", count),
+                        error -> log.error("Reservation snapshot reconciliation failed: {}", error.getMessage()));
+    }
+
+    private Mono<Long> reconcile(List<Reservation> reservations) {
+        return Mono.zip(
+                        propertyServiceIntegration
+                                .getPropertiesByIds(reservations.stream().map(Reservation::getPropertyId).collect(Collectors.toSet()))
+                                .collectMap(PropertyReservationDataDto::getId),
+                        userServiceIntegration
+                                .getUsersByIds(reservations.stream().map(Reservation::getOwnerId).collect(Collectors.toSet()))
+                                .collectMap(UserDto::getId))
+                .flatMapMany(current -> Flux.fromIterable(reservations)
+                        .concatMap(reservation -> patch(reservation, current.getT1(), current.getT2())))
+                .count();
+    }
+
+    private Mono<Reservation> patch(Reservation reservation,
+                                    Map<Long, PropertyReservationDataDto> properties,
+                                    Map<String, UserDto> owners) {
+        PropertyReservationDataDto property = properties.get(reservation.getPropertyId());
+        UserDto owner = owners.get(reservation.getOwnerId().toString());
+        if (property == null || owner == null
+                || (Objects.equals(property, reservation.getPropertySnapshot())
+                && Objects.equals(owner, reservation.getOwnerSnapshot()))) {
+            return Mono.empty();
+        }
+        log.debug("Patching snapshot of reservation with id: {}", reservation.getId());
+        return reservationRepository.updateSnapshot(reservation.getId(), property, owner)
+                .thenReturn(reservation);
+    }
+}
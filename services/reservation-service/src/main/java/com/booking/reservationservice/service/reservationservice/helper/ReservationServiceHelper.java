@@ -5,12 +5,9 @@ import com.booking.commondomain.dto.reservation.ReservationDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
 import com.booking.reservationservice.model.Reservation;
 import com.booking.reservationservice.service.emailservice.EmailService;
-import com.booking.reservationservice.util.BiConsumerWithException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-
-import javax.mail.MessagingException;
-import java.util.function.BiConsumer;
+import reactor.core.publisher.Mono;
 
 @Component
 @RequiredArgsConstructor
@@ -18,6 +15,10 @@ public class ReservationServiceHelper {
 
     private final EmailService emailService;
 
+    public ReservationDetailsDto createReservationDetailsDto(Reservation reservation) {
+        return createReservationDetailsDto(reservation, reservation.getPropertySnapshot(), reservation.getOwnerSnapshot());
+    }
+
     public ReservationDetailsDto createReservationDetailsDto(Reservation reservation, PropertyReservationDataDto propertyReservationDataDto, UserDto userDto) {
         return new ReservationDetailsDto()
                 .setId(reservation.getId())
@@ -29,20 +30,13 @@ public class ReservationServiceHelper {
                 .setPrice(reservation.getPrice());
     }
 
-    public ReservationDetailsDto sendCancellationMessage(ReservationDetailsDto reservationDetailsDto) {
-        return sendMessage(reservationDetailsDto, emailService::sendCancellationMessage);
-    }
-
-    public ReservationDetailsDto sendReservationDetailsMessage(ReservationDetailsDto reservationDetailsDto){
-        return sendMessage(reservationDetailsDto, emailService::sendReservationDetailsToOwner);
+    public Mono<ReservationDetailsDto> sendCancellationMessage(ReservationDetailsDto reservationDetailsDto) {
+        return emailService.sendCancellationMessage(reservationDetailsDto, reservationDetailsDto.getUserDto())
+                .thenReturn(reservationDetailsDto);
     }
 
-    private ReservationDetailsDto sendMessage(ReservationDetailsDto reservationDetailsDto, BiConsumerWithException<ReservationDetailsDto, UserDto, MessagingException> emailSendingFunction) {
-        try {
-            emailSendingFunction.accept(reservationDetailsDto, reservationDetailsDto.getUserDto());
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
-        return reservationDetailsDto;
+    public Mono<ReservationDetailsDto> sendReservationDetailsMessage(ReservationDetailsDto reservationDetailsDto) {
+        return emailService.sendReservationDetailsToOwner(reservationDetailsDto, reservationDetailsDto.getUserDto())
+                .thenReturn(reservationDetailsDto);
     }
 }
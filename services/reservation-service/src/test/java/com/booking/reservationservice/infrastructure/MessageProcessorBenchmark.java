@@ -0,0 +1,120 @@
+package com.booking.reservationservice.infrastructure;
+
+import com.booking.commondomain.event.Event;
+import com.booking.reservationservice.integration.propertyservice.PropertyServiceIntegration;
+import com.booking.reservationservice.repository.ReservationAvailabilityIndex;
+import com.booking.reservationservice.repository.ReservationRepository;
+import com.booking.reservationservice.service.reservationservice.ReservationPurgeBatcher;
+import com.booking.reservationservice.service.reservationservice.ReservationService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures how many property deletion messages per second the {@code deleteReservations} consumer acks,
+ * with the real purge batcher in front of a delete that takes {@code deleteMillis} per batch. The
+ * {@code concurrency = 1} case is the one-message-at-a-time processing of the former stream listener.
+ * <p>
+ * Run with {@code mvn -pl services/reservation-service test-compile exec:exec -Dbenchmark=MessageProcessorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(MessageProcessorBenchmark.MESSAGES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageProcessorBenchmark {
+
+    static final int MESSAGES = 1_000;
+
+    @Param({"1", "16", "256"})
+    private int concurrency;
+
+    @Param({"2"})
+    private long deleteMillis;
+
+    private final AtomicLong propertyIds = new AtomicLong();
+    private ReservationPurgeBatcher purgeBatcher;
+    private MessageProcessor messageProcessor;
+    private volatile CountDownLatch acked;
+    private Channel channel;
+
+    @Setup
+    public void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.deleteAllByPropertyIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(0);
+            return Mono.delay(Duration.ofMillis(deleteMillis)).thenReturn((long) batch.size());
+        });
+        purgeBatcher = new ReservationPurgeBatcher(reservationRepository, mock(ReservationAvailabilityIndex.class),
+                new SimpleMeterRegistry(), 100, Duration.ofMillis(5), 100_000, Duration.ofHours(1));
+
+        ReservationService reservationService = mock(ReservationService.class);
+        when(reservationService.deleteAllReservationsByPropertyId(anyLong()))
+                .thenAnswer(invocation -> purgeBatcher.purge(invocation.getArgument(0)));
+        messageProcessor = new MessageProcessor(reservationService, mock(PropertyServiceIntegration.class),
+                concurrency, Duration.ofSeconds(30), 3, Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        channel = (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[]{Channel.class},
+                (proxy, method, args) -> {
+                    if ("basicAck".equals(method.getName()) || "basicNack".equals(method.getName())) {
+                        acked.countDown();
+                    }
+                    return null;
+                });
+    }
+
+    @TearDown
+    public void tearDown() {
+        purgeBatcher.destroy();
+    }
+
+    @Benchmark
+    public void consumeBurst() throws InterruptedException {
+        List<Message<Event<?, ?>>> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            long propertyId = propertyIds.incrementAndGet();
+            messages.add(MessageBuilder.<Event<?, ?>>withPayload(new Event<>(Event.Type.DELETE, propertyId, propertyId))
+                    .setHeader(AmqpHeaders.CHANNEL, channel)
+                    .setHeader(AmqpHeaders.DELIVERY_TAG, propertyId)
+                    .build());
+        }
+        acked = new CountDownLatch(MESSAGES);
+        messageProcessor.deleteReservations().accept(Flux.fromIterable(messages));
+        if (!acked.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(acked.getCount() + " messages were not acknowledged");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.booking.reservationservice.infrastructure;
+
+import com.booking.reservationservice.integration.propertyservice.PropertyServiceIntegration;
+import com.booking.reservationservice.service.reservationservice.ReservationService;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the {@code deleteReservations} binding through the in-memory test binder, so the destination,
+ * the JSON conversion of the event and the manual acknowledgement are exercised together.
+ */
+@SpringBootTest(classes = MessageProcessorBindingTest.StreamConfiguration.class, properties = {
+        "spring.cloud.stream.defaultBinder=integration",
+        "spring.sleuth.enabled=false",
+        "reservation-service.purge.timeout=1s",
+        "reservation-service.purge.retry.initial-backoff=10ms"
+})
+class MessageProcessorBindingTest {
+
+    private static final String DESTINATION = "reservations";
+
+    @Autowired
+    private InputDestination input;
+
+    @MockBean
+    private ReservationService reservationService;
+
+    @MockBean
+    private PropertyServiceIntegration propertyServiceIntegration;
+
+    private final Channel channel = mock(Channel.class);
+
+    @Test
+    void acksProcessedDeletion() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(42L)).thenReturn(Mono.empty());
+
+        input.send(deletion(42L, 1L), DESTINATION);
+
+        verify(reservationService, timeout(5_000)).deleteAllReservationsByPropertyId(42L);
+        verify(propertyServiceIntegration).evictProperty(42L);
+        verify(channel, timeout(5_000)).basicAck(1L, false);
+    }
+
+    @Test
+    void nacksFailedDeletionWithoutRequeue() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(43L))
+                .thenReturn(Mono.error(new IllegalStateException("mongo unavailable")));
+
+        input.send(deletion(43L, 2L), DESTINATION);
+
+        verify(channel, timeout(5_000)).basicNack(2L, false, false);
+    }
+
+    private Message<byte[]> deletion(long propertyId, long deliveryTag) {
+        String json = "{\"eventType\":\"DELETE\",\"key\":" + propertyId + ",\"data\":" + propertyId + "}";
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .setHeader(AmqpHeaders.CHANNEL, channel)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+                .build();
+    }
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = {
+            MongoReactiveAutoConfiguration.class,
+            MongoReactiveDataAutoConfiguration.class,
+            MongoReactiveRepositoriesAutoConfiguration.class})
+    @Import({TestChannelBinderConfiguration.class, MessageProcessor.class})
+    static class StreamConfiguration {
+    }
+}
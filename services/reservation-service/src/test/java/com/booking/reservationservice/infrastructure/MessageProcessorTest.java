@@ -0,0 +1,130 @@
+package com.booking.reservationservice.infrastructure;
+
+import com.booking.bookingutils.exception.EventProcessingException;
+import com.booking.commondomain.event.Event;
+import com.booking.reservationservice.integration.propertyservice.PropertyServiceIntegration;
+import com.booking.reservationservice.service.reservationservice.ReservationService;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MessageProcessorTest {
+
+    private static final long VERIFY_TIMEOUT = 5_000;
+
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final PropertyServiceIntegration propertyServiceIntegration = mock(PropertyServiceIntegration.class);
+    private final Channel channel = mock(Channel.class);
+    private final MessageProcessor messageProcessor = new MessageProcessor(reservationService,
+            propertyServiceIntegration, 4, Duration.ofMillis(200), 3, Duration.ofMillis(10), Duration.ofMillis(20));
+
+    @Test
+    void acksOncePurgeIsWritten() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(7L)).thenReturn(Mono.empty());
+
+        consume(message(Event.Type.DELETE, 7L, 1L));
+
+        verify(propertyServiceIntegration).evictProperty(7L);
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicAck(1L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void retriesTransientPurgeFailureBeforeAcking() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(7L))
+                .thenReturn(Mono.error(new IllegalStateException("mongo unavailable")), Mono.empty());
+
+        consume(message(Event.Type.DELETE, 7L, 5L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicAck(5L, false);
+        verify(reservationService, times(2)).deleteAllReservationsByPropertyId(7L);
+        verify(propertyServiceIntegration).evictProperty(7L);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void rejectsWithoutRequeueWhenPurgeKeepsFailing() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(7L))
+                .thenReturn(Mono.error(new IllegalStateException("mongo unavailable")));
+
+        consume(message(Event.Type.DELETE, 7L, 2L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicNack(2L, false, false);
+        verify(reservationService, times(3)).deleteAllReservationsByPropertyId(7L);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void rejectsWithoutRequeueWhenPurgeTimesOut() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(7L)).thenReturn(Mono.never());
+
+        consume(message(Event.Type.DELETE, 7L, 3L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicNack(3L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void rejectsWithoutRequeueOnUnexpectedEventType() throws IOException {
+        consume(message(Event.Type.CREATE, 7L, 4L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicNack(4L, false, false);
+        verifyNoInteractions(reservationService, propertyServiceIntegration);
+    }
+
+    @Test
+    void acknowledgesEveryMessageIndependently() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(1L)).thenReturn(Mono.empty());
+        when(reservationService.deleteAllReservationsByPropertyId(2L))
+                .thenReturn(Mono.error(new EventProcessingException("failed")));
+        when(reservationService.deleteAllReservationsByPropertyId(3L)).thenReturn(Mono.empty());
+
+        consume(message(Event.Type.DELETE, 1L, 11L),
+                message(Event.Type.DELETE, 2L, 12L),
+                message(Event.Type.DELETE, 3L, 13L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicAck(11L, false);
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicNack(12L, false, false);
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicAck(13L, false);
+    }
+
+    @Test
+    void keepsConsumingWhenAcknowledgeFails() throws IOException {
+        when(reservationService.deleteAllReservationsByPropertyId(anyLong())).thenReturn(Mono.empty());
+        doThrow(new IOException("channel closed")).when(channel).basicAck(21L, false);
+
+        consume(message(Event.Type.DELETE, 1L, 21L), message(Event.Type.DELETE, 2L, 22L));
+
+        verify(channel, timeout(VERIFY_TIMEOUT)).basicAck(22L, false);
+    }
+
+    @SafeVarargs
+    private void consume(Message<Event<?, ?>>... messages) {
+        messageProcessor.deleteReservations().accept(Flux.just(messages));
+    }
+
+    private Message<Event<?, ?>> message(Event.Type type, Long propertyId, long deliveryTag) {
+        return MessageBuilder.<Event<?, ?>>withPayload(new Event<>(type, propertyId, propertyId))
+                .setHeader(AmqpHeaders.CHANNEL, channel)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.booking.reservationservice.repository;
+
+import com.booking.reservationservice.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationAvailabilityIndexTest {
+
+    private static final String LOCATION = "Greece";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final Sinks.Many<Reservation> snapshot = Sinks.many().unicast().onBackpressureBuffer();
+    private final ReservationAvailabilityIndex index = new ReservationAvailabilityIndex(reservationRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(reservationRepository.findByCheckOutGreaterThanEqual(any())).thenReturn(snapshot.asFlux());
+        index.load();
+    }
+
+    @Test
+    void removalDuringLoadIsNotUndoneBySnapshot() {
+        Reservation cancelled = reservation("r-1", 1L, TODAY.plusDays(3), TODAY.plusDays(6));
+
+        index.remove(cancelled);
+        loadSnapshot(cancelled, reservation("r-2", 2L, TODAY.plusDays(3), TODAY.plusDays(6)));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.findPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5))).containsExactly(2L);
+    }
+
+    @Test
+    void propertyPurgeDuringLoadIsNotUndoneBySnapshot() {
+        index.removeByPropertyIds(List.of(1L));
+        loadSnapshot(reservation("r-1", 1L, TODAY.plusDays(3), TODAY.plusDays(6)),
+                reservation("r-2", 2L, TODAY.plusDays(3), TODAY.plusDays(6)));
+
+        assertThat(index.findPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5))).containsExactly(2L);
+    }
+
+    @Test
+    void additionDuringLoadIsKept() {
+        index.add(reservation("r-3", 3L, TODAY.plusDays(3), TODAY.plusDays(6)));
+        loadSnapshot(reservation("r-2", 2L, TODAY.plusDays(3), TODAY.plusDays(6)));
+
+        assertThat(index.findPropertyIds(LOCATION, TODAY.plusDays(4), TODAY.plusDays(5)))
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void pruneDropsCheckedOutReservations() {
+        loadSnapshot(reservation("r-1", 1L, TODAY.minusDays(5), TODAY.minusDays(1)),
+                reservation("r-2", 2L, TODAY.minusDays(2), TODAY.plusDays(2)));
+
+        index.prune();
+
+        assertThat(index.findPropertyIds(LOCATION, TODAY.minusDays(10), TODAY.plusDays(10))).containsExactly(2L);
+    }
+
+    private void loadSnapshot(Reservation... reservations) {
+        for (Reservation reservation : reservations) {
+            snapshot.tryEmitNext(reservation);
+        }
+        snapshot.tryEmitComplete();
+    }
+
+    private Reservation reservation(String id, Long propertyId, LocalDate checkIn, LocalDate checkOut) {
+        return new Reservation()
+                .setId(id)
+                .setPropertyId(propertyId)
+                .setLocation(LOCATION)
+                .setCheckIn(checkIn)
+                .setCheckOut(checkOut);
+    }
+}
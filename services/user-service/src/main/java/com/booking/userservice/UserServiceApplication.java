@@ -4,10 +4,12 @@ import  org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication(exclude={MongoAutoConfiguration.class})
 @EnableReactiveMongoRepositories
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,13 +1,21 @@
 package com.booking.userservice.config;
 
+import com.booking.bookingutils.http.ImageResponder;
+import com.booking.bookingutils.storage.GcsObjectStore;
+import com.booking.bookingutils.storage.ObjectStore;
+import com.google.cloud.storage.Storage;
 import lombok.extern.log4j.Log4j2;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NamingConventions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 @Configuration
 @Log4j2
 public class ApplicationConfig {
@@ -22,6 +30,16 @@ public class ApplicationConfig {
         return modelMapper;
     }
 
+    @Bean
+    public ObjectStore objectStore(Storage storage, @Value("${user-service.bucket-name}") String bucketName) {
+        return new GcsObjectStore(storage, bucketName);
+    }
+
+    @Bean
+    public ImageResponder imageResponder(ObjectStore objectStore) {
+        return new ImageResponder(objectStore, CacheControl.maxAge(Duration.ofHours(1)).cachePublic());
+    }
+
     @Bean
     @LoadBalanced
     public WebClient.Builder loadBalancedWebClientBuilder() {
@@ -1,37 +1,31 @@
 package com.booking.userservice.controller;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.http.MediaType;
+import com.booking.bookingutils.http.ImageResponder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @CrossOrigin("*")
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/users")
 public class ImageController {
 
-    @Value("gs://booking-bucket-1/")
-    Resource gcsFile;
+    private final ImageResponder imageResponder;
 
-    @GetMapping(value = "/image/**", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<byte[]> getImageWithMediaType(ServerHttpRequest request) throws IOException {
-        String path = request.getPath().toString().replace("/users/image/","");
-
-        Resource resource = gcsFile.createRelative(path);
-
-        byte[] bytes = StreamUtils.copyToByteArray(resource.getInputStream());
-
-        return ResponseEntity
-                .ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(bytes);
+    @GetMapping("/image/**")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getImage(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value().replace("/users/image/", "");
+        return imageResponder.serve(UriUtils.decode(path, StandardCharsets.UTF_8), request);
     }
 }
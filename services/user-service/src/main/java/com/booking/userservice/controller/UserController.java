@@ -12,12 +12,15 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Set;
 import java.util.UUID;
 
 @CrossOrigin("*")
@@ -39,6 +42,11 @@ public class UserController {
         return userService.getUserById(userId);
     }
 
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDto> getUsersByIds(@NotEmpty @Size(max = 1000) @RequestBody Set<UUID> userIds) {
+        return userService.getUsersByIds(userIds);
+    }
+
     @GetMapping("/{email}")
     public Mono<UserDetailsDto> findUserByEmail(@Email @PathVariable String email) {
         return userService.findUserByEmail(email);
@@ -29,6 +29,7 @@ public class UserMapper {
 
     public static UserDto toUserDto(User user) {
         return new UserDto()
+                .setId(user.getId().toString())
                 .setFirstName(user.getFirstName())
                 .setLastName(user.getLastName())
                 .setEmail(user.getEmail())
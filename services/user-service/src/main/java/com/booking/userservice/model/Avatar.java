@@ -0,0 +1,56 @@
+package com.booking.userservice.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A stored avatar, addressed by the SHA-256 of its content and shared by every user who uploaded the same bytes.
+ */
+@Document(collection = "avatars")
+@Accessors(chain = true)
+@Data
+@NoArgsConstructor
+public class Avatar {
+
+    public static final String KEY_PREFIX = "images/avatars/";
+
+    @Id
+    private String hash;
+
+    private String contentType;
+
+    private long size;
+
+    private long references;
+
+    private boolean stored;
+
+    /**
+     * Set by the garbage collector while it deletes the object; {@code acquire} does not match the avatar until
+     * the document is gone.
+     */
+    private boolean deleting;
+
+    private Instant createdAt;
+
+    @Indexed(sparse = true)
+    private Instant unreferencedSince;
+
+    public String getKey() {
+        return keyOf(hash);
+    }
+
+    public static String keyOf(String hash) {
+        return KEY_PREFIX + hash;
+    }
+
+    public static String hashOf(String key) {
+        return key != null && key.startsWith(KEY_PREFIX) ? key.substring(KEY_PREFIX.length()) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.booking.userservice.repository;
+
+import com.booking.userservice.model.Avatar;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface AvatarCustomRepository {
+
+    Mono<Avatar> acquire(String hash, String contentType, long size);
+
+    Mono<Void> markStored(String hash);
+
+    Mono<Avatar> release(String hash);
+
+    Flux<Avatar> findUnreferencedSince(Instant cutoff);
+
+    Mono<Avatar> markDeletingIfUnreferencedSince(String hash, Instant cutoff);
+
+    Mono<Avatar> removeDeleting(String hash);
+
+    Mono<Void> cancelDeleting(String hash);
+}
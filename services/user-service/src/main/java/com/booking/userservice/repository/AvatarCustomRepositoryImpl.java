@@ -0,0 +1,96 @@
+package com.booking.userservice.repository;
+
+import com.booking.userservice.model.Avatar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class AvatarCustomRepositoryImpl implements AvatarCustomRepository {
+
+    private static final Retry ACQUIRE_RETRY = Retry.backoff(8, Duration.ofMillis(50))
+            .filter(DuplicateKeyException.class::isInstance);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Takes a reference on the avatar, creating it when it does not exist. An avatar that is being deleted is not
+     * matched, so the upsert collides with it on {@code _id} and is retried until the collector removed the document.
+     */
+    @Override
+    public Mono<Avatar> acquire(String hash, String contentType, long size) {
+        final Query query = new Query(Criteria.where("_id").is(hash).and("deleting").ne(true));
+        final Update update = new Update()
+                .inc("references", 1)
+                .unset("unreferencedSince")
+                .setOnInsert("contentType", contentType)
+                .setOnInsert("size", size)
+                .setOnInsert("stored", false)
+                .setOnInsert("deleting", false)
+                .setOnInsert("createdAt", Instant.now());
+
+        return Mono.defer(() -> reactiveMongoTemplate.findAndModify(query, update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), Avatar.class))
+                .retryWhen(ACQUIRE_RETRY);
+    }
+
+    @Override
+    public Mono<Void> markStored(String hash) {
+        final Query query = new Query(Criteria.where("_id").is(hash));
+        return reactiveMongoTemplate.updateFirst(query, Update.update("stored", true), Avatar.class).then();
+    }
+
+    @Override
+    public Mono<Avatar> release(String hash) {
+        final Query query = new Query(Criteria.where("_id").is(hash).and("references").gt(0));
+
+        return reactiveMongoTemplate.findAndModify(query, new Update().inc("references", -1),
+                        FindAndModifyOptions.options().returnNew(true), Avatar.class)
+                .flatMap(avatar -> avatar.getReferences() > 0
+                        ? Mono.just(avatar)
+                        : reactiveMongoTemplate.findAndModify(
+                                new Query(Criteria.where("_id").is(hash).and("references").lte(0)),
+                                Update.update("unreferencedSince", Instant.now()),
+                                FindAndModifyOptions.options().returnNew(true), Avatar.class)
+                        .defaultIfEmpty(avatar));
+    }
+
+    @Override
+    public Flux<Avatar> findUnreferencedSince(Instant cutoff) {
+        final Query query = new Query(Criteria.where("references").lte(0).and("unreferencedSince").lt(cutoff));
+        return reactiveMongoTemplate.find(query, Avatar.class);
+    }
+
+    @Override
+    public Mono<Avatar> markDeletingIfUnreferencedSince(String hash, Instant cutoff) {
+        final Query query = new Query(Criteria.where("_id").is(hash)
+                .and("references").lte(0)
+                .and("unreferencedSince").lt(cutoff));
+        return reactiveMongoTemplate.findAndModify(query, Update.update("deleting", true),
+                FindAndModifyOptions.options().returnNew(true), Avatar.class);
+    }
+
+    @Override
+    public Mono<Avatar> removeDeleting(String hash) {
+        final Query query = new Query(Criteria.where("_id").is(hash).and("deleting").is(true));
+        return reactiveMongoTemplate.findAndRemove(query, Avatar.class);
+    }
+
+    @Override
+    public Mono<Void> cancelDeleting(String hash) {
+        final Query query = new Query(Criteria.where("_id").is(hash).and("deleting").is(true));
+        return reactiveMongoTemplate.updateFirst(query, Update.update("deleting", false), Avatar.class).then();
+    }
+}
@@ -0,0 +1,8 @@
+package com.booking.userservice.repository;
+
+import com.booking.userservice.model.Avatar;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface AvatarRepository extends ReactiveMongoRepository<Avatar, String>,
+AvatarCustomRepository {
+}
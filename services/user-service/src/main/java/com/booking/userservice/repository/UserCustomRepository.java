@@ -8,7 +8,7 @@ import java.util.UUID;
 
 public interface UserCustomRepository {
 
-    void updateProfileImage(UUID userId, String profileImagePath);
+    Mono<User> updateProfileImage(UUID userId, String profileImagePath);
 
     void updateUser(UserDetailsDto userDetailsDto);
 
@@ -4,9 +4,11 @@ import com.booking.commondomain.dto.user.UserDetailsDto;
 import com.booking.userservice.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -19,13 +21,12 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
     private final ReactiveMongoTemplate reactiveMongoTemplate;
 
     @Override
-    public void updateProfileImage(UUID userId, String profileImagePath) {
+    public Mono<User> updateProfileImage(UUID userId, String profileImagePath) {
         final Query query = new Query();
         query.addCriteria(Criteria.where("_id").is(userId));
 
-        reactiveMongoTemplate.findOne(query, User.class)
-                .doOnNext(user -> user.setProfileImage(profileImagePath))
-                .flatMap(reactiveMongoTemplate::save).subscribe();
+        return reactiveMongoTemplate.findAndModify(query, Update.update("profileImage", profileImagePath),
+                FindAndModifyOptions.options().returnNew(false), User.class);
     }
 
     @Override
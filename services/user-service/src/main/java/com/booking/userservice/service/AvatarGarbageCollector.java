@@ -0,0 +1,55 @@
+package com.booking.userservice.service;
+
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.userservice.model.Avatar;
+import com.booking.userservice.repository.AvatarRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes avatars that no user has referenced for the grace period. The document is first marked as deleting,
+ * conditionally on it still being unreferenced, and only removed after the object is gone. While it is marked,
+ * uploads of the same bytes wait instead of reusing it, so they always write the object after the delete.
+ * An avatar left marked by an interrupted run is picked up again by the next one.
+ */
+@Slf4j
+@Component
+public class AvatarGarbageCollector {
+
+    private final AvatarRepository avatarRepository;
+    private final ObjectStore objectStore;
+    private final Duration gracePeriod;
+
+    public AvatarGarbageCollector(AvatarRepository avatarRepository, ObjectStore objectStore,
+                                  @Value("${user-service.avatar.gc.grace-period:24h}") Duration gracePeriod) {
+        this.avatarRepository = avatarRepository;
+        this.objectStore = objectStore;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.avatar.gc.interval:PT1H}", initialDelayString = "${user-service.avatar.gc.interval:PT1H}")
+    public void collect() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        avatarRepository.findUnreferencedSince(cutoff)
+                .concatMap(avatar -> avatarRepository.markDeletingIfUnreferencedSince(avatar.getHash(), cutoff))
+                .concatMap(this::delete)
+                .count()
+                .subscribe(count -> log.info("Avatar garbage collection deleted {} avatars", count),
+                        error -> log.error("Avatar garbage collection failed: {}", error.getMessage()));
+    }
+
+    private Mono<Avatar> delete(Avatar avatar) {
+        return objectStore.delete(avatar.getKey())
+                .then(avatarRepository.removeDeleting(avatar.getHash()))
+                .onErrorResume(error -> {
+                    log.warn("Failed to delete avatar {}: {}", avatar.getHash(), error.getMessage());
+                    return avatarRepository.cancelDeleting(avatar.getHash()).then(Mono.empty());
+                });
+    }
+}
@@ -5,8 +5,10 @@ import com.booking.commondomain.dto.user.UserDetailsDto;
 import com.booking.commondomain.dto.user.UserDto;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserService {
@@ -19,6 +21,8 @@ public interface UserService {
 
     Mono<UserDto> getUserById(UUID userId);
 
+    Flux<UserDto> getUsersByIds(Set<UUID> userIds);
+
     Mono<Void> updateUser(UserDetailsDto userDetailsDto);
 
     Mono<Void> uploadImage(String userId, Mono<FilePart> filePartMono);
@@ -8,18 +8,16 @@ import com.booking.userservice.mapper.UserMapper;
 import com.booking.userservice.model.User;
 import com.booking.userservice.repository.UserRepository;
 import com.booking.userservice.service.helper.UserServiceHelper;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
 import java.util.UUID;
 
 import static reactor.core.publisher.Mono.error;
@@ -51,6 +49,14 @@ public class UserServiceImpl implements UserService {
                 .map(UserMapper::toUserDto);
     }
 
+    @Override
+    public Flux<UserDto> getUsersByIds(Set<UUID> userIds) {
+        log.info("getUsersByIds: {} ids", userIds.size());
+
+        return userRepository.findByIdIn(userIds)
+                .map(UserMapper::toUserDto);
+    }
+
     @Override
     public Mono<UserDetailsDto> findUserByEmail(String email) {
         log.info("findUserByEmail: {}", email);
@@ -79,13 +85,12 @@ public class UserServiceImpl implements UserService {
     public Mono<Void> uploadImage(String userId, Mono<FilePart> filePartMono) {
         log.info("Update user image with id: {}", userId);
 
-        String imagesURL = "images/users/" + userId;
-
         return filePartMono
-                .doOnNext(fp -> userRepository.updateProfileImage(UUID.fromString(userId), imagesURL + "/" + fp.filename()))
-                .zipWith(filePartMono.flatMap(filePart ->
-                                filePart.content().shareNext()),
-                        (filePart, dataBuffer) -> userServiceHelper.uploadImage(imagesURL, filePart, dataBuffer))
+                .flatMap(userServiceHelper::storeAvatar)
+                .flatMap(avatar -> userRepository.updateProfileImage(UUID.fromString(userId), avatar.getKey())
+                        .switchIfEmpty(Mono.defer(() -> userServiceHelper.releaseAvatar(avatar.getKey())
+                                .then(Mono.<User>error(new NotFoundException("No user found for user id: " + userId)))))
+                        .flatMap(previous -> userServiceHelper.releaseAvatar(previous.getProfileImage())))
                 .then();
     }
 }
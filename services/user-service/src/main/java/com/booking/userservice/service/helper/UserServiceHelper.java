@@ -1,29 +1,95 @@
 package com.booking.userservice.service.helper;
 
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
-import lombok.RequiredArgsConstructor;
+import com.booking.bookingutils.exception.InvalidInputException;
+import com.booking.bookingutils.storage.ObjectStore;
+import com.booking.userservice.model.Avatar;
+import com.booking.userservice.repository.AvatarRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class UserServiceHelper {
 
-    private final Storage storage;
-    @Value("${user-service.bucket-name}")
-    private String bucketName;
-
-    public Mono<Void> uploadImage(String imagesURL, FilePart filePart, DataBuffer dataBuffer) {
-        final String IMAGE_URL = imagesURL + "/" + filePart.filename();
-        final BlobId blobId = BlobId.of(bucketName,  IMAGE_URL);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
-        byte[] bytes = dataBuffer.asByteBuffer().array();
-        storage.create(blobInfo, bytes);
-        return Mono.empty();
+    private final ObjectStore objectStore;
+    private final AvatarRepository avatarRepository;
+    private final int maxAvatarBytes;
+
+    public UserServiceHelper(ObjectStore objectStore, AvatarRepository avatarRepository,
+                             @Value("${user-service.avatar.max-size:5MB}") DataSize maxAvatarSize) {
+        this.objectStore = objectStore;
+        this.avatarRepository = avatarRepository;
+        this.maxAvatarBytes = (int) maxAvatarSize.toBytes();
+    }
+
+    /**
+     * Hashes the upload while it streams in and takes a reference on the avatar with that hash.
+     * The content is only written to the object store the first time those bytes are seen.
+     */
+    public Mono<Avatar> storeAvatar(FilePart filePart) {
+        String contentType = Optional.ofNullable(filePart.headers().getContentType())
+                .map(MediaType::toString)
+                .orElse(null);
+
+        return Mono.defer(() -> {
+            MessageDigest digest = sha256();
+            return DataBufferUtils.join(filePart.content()
+                            .doOnNext(buffer -> digest.update(buffer.asByteBuffer())), maxAvatarBytes)
+                    .onErrorMap(DataBufferLimitException.class,
+                            e -> new InvalidInputException("Avatar exceeds " + maxAvatarBytes + " bytes", e))
+                    .flatMap(content -> store(toHex(digest.digest()), contentType, content));
+        });
+    }
+
+    public Mono<Void> releaseAvatar(String profileImage) {
+        String hash = Avatar.hashOf(profileImage);
+        if (hash == null) {
+            return Mono.empty();
+        }
+        return avatarRepository.release(hash)
+                .doOnNext(avatar -> log.debug("Released avatar {}, {} references left", hash, avatar.getReferences()))
+                .then();
+    }
+
+    private Mono<Avatar> store(String hash, String contentType, DataBuffer content) {
+        return avatarRepository.acquire(hash, contentType, content.readableByteCount())
+                .doOnError(e -> DataBufferUtils.release(content))
+                .flatMap(avatar -> {
+                    if (avatar.isStored()) {
+                        DataBufferUtils.release(content);
+                        log.debug("Avatar {} is already stored, skipping upload", hash);
+                        return Mono.just(avatar);
+                    }
+                    return objectStore.write(avatar.getKey(), contentType, Flux.just(content))
+                            .then(avatarRepository.markStored(hash))
+                            .thenReturn(avatar.setStored(true))
+                            .onErrorResume(e -> avatarRepository.release(hash).then(Mono.error(e)));
+                });
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        return String.format("%064x", new BigInteger(1, hash));
     }
 }